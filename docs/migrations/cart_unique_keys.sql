@@ -0,0 +1,47 @@
+-- 장바구니 유니크 키(uk_carts_user, uk_cart_items_cart_book) 마이그레이션 (MySQL)
+-- 이전 버전은 삭제한 도서를 다시 담으면 새 행을 INSERT했으므로 기존 DB에는 같은 (cart_id, book_id) 행이 여러 개 있을 수 있다.
+-- 중복이 있으면 ddl-auto=update의 유니크 키 생성이 조용히 실패하고, 그러면 장바구니 upsert(ON DUPLICATE KEY UPDATE)가
+-- 담을 때마다 행을 하나씩 더 만든다. 기존 carts/cart_items 데이터가 있는 DB에 배포하기 전에 한 번 실행한다.
+-- 두 키가 이미 있으면(SHOW INDEX FROM carts / cart_items로 확인) 중복이 있을 수 없으므로 실행하지 않는다.
+
+-- 1. 사용자별로 가장 먼저 만든 장바구니만 남기고, 나머지 장바구니의 항목을 그쪽으로 옮긴다
+CREATE TABLE migration_cart_merge AS
+SELECT c.id AS cart_id, k.keep_id
+FROM carts c
+JOIN (SELECT user_id, MIN(id) AS keep_id FROM carts GROUP BY user_id) k ON k.user_id = c.user_id
+WHERE c.id <> k.keep_id;
+
+UPDATE cart_items
+SET cart_id = (SELECT m.keep_id FROM migration_cart_merge m WHERE m.cart_id = cart_items.cart_id)
+WHERE cart_id IN (SELECT cart_id FROM migration_cart_merge);
+
+DELETE FROM carts WHERE id IN (SELECT cart_id FROM migration_cart_merge);
+
+DROP TABLE migration_cart_merge;
+
+-- 2. (cart_id, book_id)마다 행 하나만 남긴다.
+--    살아 있는 행이 있으면 그중 가장 작은 id를 남기고 살아 있는 행의 수량을 합친다. 모두 삭제된 행이면 가장 작은 id만 남긴다
+CREATE TABLE migration_cart_item_keep AS
+SELECT cart_id, book_id,
+       COALESCE(MIN(CASE WHEN deleted = false THEN id END), MIN(id)) AS keep_id,
+       SUM(CASE WHEN deleted = false THEN quantity ELSE 0 END) AS live_quantity,
+       SUM(CASE WHEN deleted = false THEN 1 ELSE 0 END) AS live_rows
+FROM cart_items
+GROUP BY cart_id, book_id
+HAVING COUNT(*) > 1;
+
+UPDATE cart_items
+SET quantity = (SELECT k.live_quantity FROM migration_cart_item_keep k WHERE k.keep_id = cart_items.id)
+WHERE id IN (SELECT keep_id FROM migration_cart_item_keep WHERE live_rows > 0);
+
+DELETE FROM cart_items
+WHERE EXISTS (SELECT 1 FROM migration_cart_item_keep k
+              WHERE k.cart_id = cart_items.cart_id
+                AND k.book_id = cart_items.book_id
+                AND k.keep_id <> cart_items.id);
+
+DROP TABLE migration_cart_item_keep;
+
+-- 3. 유니크 키 추가 (엔티티와 같은 이름이므로 이후 ddl-auto=update도 같은 키로 본다)
+ALTER TABLE carts ADD CONSTRAINT uk_carts_user UNIQUE (user_id);
+ALTER TABLE cart_items ADD CONSTRAINT uk_cart_items_cart_book UNIQUE (cart_id, book_id);
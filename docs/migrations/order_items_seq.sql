@@ -0,0 +1,16 @@
+-- 주문 항목 ID 시퀀스(order_items_seq) 시드 스크립트 (MySQL)
+-- 기존 order_items 데이터가 있는 DB에 배포하기 전에 한 번 실행한다.
+-- Hibernate는 MySQL에서 시퀀스를 테이블로 흉내 내며, ddl-auto=update로 생성되면 next_val=1에서 시작해 기존 PK와 충돌한다.
+-- pooled 옵티마이저(allocationSize=50)는 읽은 값 V에 대해 V-49 ~ V를 발급하므로 MAX(id) + 50으로 맞춘다.
+
+CREATE TABLE IF NOT EXISTS order_items_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO order_items_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 50 FROM order_items
+WHERE NOT EXISTS (SELECT 1 FROM order_items_seq);
+
+-- 이미 행이 있으면(앱이 먼저 떠서 next_val=1로 생성된 경우 등) 기존 최대 ID 이상으로 올린다
+UPDATE order_items_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM order_items));
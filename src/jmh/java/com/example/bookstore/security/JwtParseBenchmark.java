@@ -0,0 +1,56 @@
+package com.example.bookstore.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 1건당 JWT 처리 비용 비교.
+ * - twoPassFreshParser: 기존 필터 (validateToken + getEmailFromToken, 매번 parser 생성)
+ * - singlePassSharedParser: JwtTokenProvider.parse (init()에서 만든 parser로 한 번 검증)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtParseBenchmark {
+
+    private SecretKey key;
+    private JwtParser sharedParser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor("benchmarkSecretKeyForJwtTokenGenerationThatIsAtLeast256BitsLong"
+                .getBytes(StandardCharsets.UTF_8));
+        sharedParser = Jwts.parser().verifyWith(key).build();
+
+        Date now = new Date();
+        token = Jwts.builder()
+                .subject("user1@example.com")
+                .claim("role", "ROLE_USER")
+                .claim("uid", 1L)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 3_600_000))
+                .signWith(key)
+                .compact();
+    }
+
+    @Benchmark
+    public String twoPassFreshParser() {
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String singlePassSharedParser() {
+        Claims claims = sharedParser.parseSignedClaims(token).getPayload();
+        return claims.getSubject();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.bookstore.cart;
+
+/**
+ * 저장소에 올라 있는 장바구니 항목 하나. itemId는 DB에 한 번도 반영되지 않은 항목이면 null.
+ */
+public record CartLine(int quantity, Long itemId) {
+}
@@ -0,0 +1,80 @@
+package com.example.bookstore.cart;
+
+import com.example.bookstore.entity.Cart;
+import com.example.bookstore.entity.CartItem;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.CartItemRepository;
+import com.example.bookstore.repository.CartRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 저장소의 장바구니 상태를 carts/cart_items 테이블과 맞춘다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CartPersister {
+
+    private final CartRepository cartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final BookRepository bookRepository;
+
+    @Transactional
+    public CartSnapshot load(Long userId) {
+        Long cartId = cartRepository.findOrCreateIdByUserId(userId);
+        Map<Long, CartLine> lines = cartItemRepository.findByCartIdAndDeletedFalse(cartId).stream()
+                .collect(Collectors.toMap(item -> item.getBook().getId(),
+                        item -> new CartLine(item.getQuantity(), item.getId())));
+        return new CartSnapshot(cartId, lines, 0, false);
+    }
+
+    /**
+     * 장바구니 행을 잠근 채로 work를 실행한다. 잠금은 커밋까지 유지되므로 여러 인스턴스의 flush와 주문 전환이
+     * 같은 장바구니를 한 번에 하나씩만 쓴다. work가 잠근 뒤에 저장소 스냅샷을 읽어야
+     * 먼저 읽어 둔 오래된 스냅샷이 더 최신 반영을 덮어쓰지 않는다.
+     */
+    @Transactional
+    public <T> T withCartLocked(Long cartId, Supplier<T> work) {
+        cartRepository.findByIdForUpdate(cartId);
+        return work.get();
+    }
+
+    /**
+     * 스냅샷 그대로 덮어쓴다: 있는 행은 수량을 고치거나 되살리고, 빠진 행은 soft delete, 새 도서는 INSERT.
+     * 같은 스냅샷을 두 번 써도 결과가 같으므로 재시도해도 안전하다. 동시 반영은 {@link #withCartLocked}로 막는다.
+     *
+     * @return 도서 id → 항목 id
+     */
+    @Transactional
+    public Map<Long, Long> write(Long cartId, Map<Long, CartLine> lines) {
+        Map<Long, CartItem> rows = cartItemRepository.findByCartId(cartId).stream()
+                .collect(Collectors.toMap(item -> item.getBook().getId(), Function.identity()));
+        Cart cart = cartRepository.getReferenceById(cartId);
+
+        Map<Long, Long> itemIds = new HashMap<>();
+        lines.forEach((bookId, line) -> {
+            CartItem row = rows.remove(bookId);
+            if (row == null) {
+                row = cartItemRepository.save(CartItem.builder()
+                        .cart(cart)
+                        .book(bookRepository.getReferenceById(bookId))
+                        .quantity(line.quantity())
+                        .deleted(false)
+                        .build());
+            } else {
+                row.setQuantity(line.quantity());
+                row.setDeleted(false);
+            }
+            itemIds.put(bookId, row.getId());
+        });
+        rows.values().forEach(row -> row.setDeleted(true));
+        return itemIds;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bookstore.cart;
+
+import java.util.Map;
+
+/**
+ * 사용자 장바구니의 한 시점 상태 (도서 id → 항목).
+ * version은 변경마다 증가하므로 flush 도중 바뀌었는지 판단하는 데 쓴다.
+ */
+public record CartSnapshot(Long cartId, Map<Long, CartLine> lines, long version, boolean dirty) {
+}
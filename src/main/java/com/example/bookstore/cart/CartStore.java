@@ -0,0 +1,37 @@
+package com.example.bookstore.cart;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 살아 있는 장바구니를 사용자별로 들고 있는 key-value 저장소.
+ * DB 반영은 {@link CartWriteBehind}가 dirty 목록을 보고 비동기로 한다.
+ * 변경 연산은 장바구니가 올라와 있지 않으면 false를 돌려주며, 호출 측이 DB에서 읽어 올린 뒤 다시 시도한다.
+ */
+public interface CartStore {
+
+    // 올라와 있지 않으면 null
+    CartSnapshot get(Long userId);
+
+    // 비어 있을 때만 DB에서 읽은 상태를 올린다
+    void loadIfAbsent(Long userId, Long cartId, Map<Long, CartLine> lines);
+
+    boolean add(Long userId, Long bookId, int quantity);
+
+    // 담겨 있지 않은 도서면 false
+    boolean update(Long userId, Long bookId, int quantity);
+
+    boolean remove(Long userId, Long bookId);
+
+    Set<Long> dirtyUsers();
+
+    // 새로 생긴 항목 id를 기록하고, 그 사이 변경이 없었으면(version 일치) dirty를 해제
+    void markFlushed(Long userId, long version, Map<Long, Long> itemIds);
+
+    // 주문 전환 후 version이 그대로일 때만 비운다
+    boolean clearIfUnchanged(Long userId, long version);
+
+    // 한동안 쓰이지 않은 깨끗한(반영이 끝난) 장바구니를 내린다. TTL로 만료되는 저장소는 할 일이 없다
+    default void evictIdle() {
+    }
+}
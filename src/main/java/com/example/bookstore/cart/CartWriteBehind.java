@@ -0,0 +1,186 @@
+package com.example.bookstore.cart;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 장바구니 write-behind. 조회와 변경은 {@link CartStore}에서만 처리하고,
+ * 같은 사용자의 연속 변경은 하나로 합쳐 flush-interval마다(그리고 주문 전환 직전에) DB에 반영한다.
+ *
+ * flush는 장바구니 행을 잠근 뒤 스냅샷을 읽어 쓰므로 여러 인스턴스의 flush가 겹쳐도 순서대로 최신 상태가 반영된다.
+ * dirty 해제와 항목 id 기록은 커밋 후에 하고, 반영한 version이 그대로일 때만 dirty를 해제하므로
+ * flush 도중 들어온 변경이나 롤백된 반영은 다음 flush에서 다시 반영된다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CartWriteBehind {
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final CartStore store;
+    private final CartPersister persister;
+
+    // 도서 id 기준 항목 목록. DB id가 아직 없는 항목이 있으면 먼저 반영해 id를 채운다
+    public List<Map.Entry<Long, CartLine>> items(Long userId) {
+        Map<Long, CartLine> lines = loaded(userId).lines();
+        if (hasMissingItemId(lines)) {
+            // 저장소에는 커밋 후에 기록되므로 반영하면서 받은 id를 그대로 쓴다
+            Flushed flushed = write(userId);
+            if (flushed != null) {
+                lines = flushed.lines();
+            }
+        }
+        return lines.entrySet().stream()
+                .sorted(Comparator.comparing(entry -> entry.getValue().itemId(),
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    public Long add(Long userId, Long bookId, int quantity) {
+        // 주문 전환으로 비워진 직후라면 다시 올려서 재시도
+        for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            CartSnapshot snapshot = loaded(userId);
+            if (store.add(userId, bookId, quantity)) {
+                return snapshot.cartId();
+            }
+        }
+        throw new IllegalStateException("장바구니를 저장소에 올리지 못했습니다: " + userId);
+    }
+
+    // 담겨 있지 않은 도서면 empty
+    public Optional<Long> update(Long userId, Long bookId, int quantity) {
+        Long cartId = loaded(userId).cartId();
+        return store.update(userId, bookId, quantity) ? Optional.of(cartId) : Optional.empty();
+    }
+
+    public boolean remove(Long userId, Long bookId) {
+        loaded(userId);
+        return store.remove(userId, bookId);
+    }
+
+    public Optional<Long> findBookIdByItemId(Long userId, Long cartItemId) {
+        return loaded(userId).lines().entrySet().stream()
+                .filter(entry -> cartItemId.equals(entry.getValue().itemId()))
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    /**
+     * 사용자 장바구니를 지금 DB에 반영한다. 주문 전환 트랜잭션 안에서 부르면 같은 트랜잭션으로 쓰고,
+     * 저장소의 dirty 해제는 그 트랜잭션이 커밋된 뒤에 한다.
+     *
+     * @return 반영한 스냅샷 version (저장소에 없으면 -1)
+     */
+    public long flush(Long userId) {
+        CartSnapshot snapshot = store.get(userId);
+        if (snapshot == null) {
+            return -1;
+        }
+        if (!snapshot.dirty()) {
+            return snapshot.version();
+        }
+        Flushed flushed = write(userId);
+        return flushed != null ? flushed.version() : -1;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.store.flush-interval:1000}")
+    public void flushAll() {
+        for (Long userId : store.dirtyUsers()) {
+            try {
+                flush(userId);
+            } catch (RuntimeException e) {
+                // dirty로 남으므로 다음 주기에 다시 시도
+                log.warn("Cart flush failed for user {}: {}", userId, e.getMessage());
+            }
+        }
+        store.evictIdle();
+    }
+
+    /**
+     * 주문 전환 트랜잭션 안에서 호출. flush 이후 변경이 있었다면 false.
+     * 저장소는 커밋 후에 비우므로 주문 전환이 롤백되면 장바구니가 그대로 남는다.
+     */
+    public boolean clearAfterCheckout(Long userId, long flushedVersion) {
+        CartSnapshot snapshot = store.get(userId);
+        if (snapshot != null && snapshot.version() != flushedVersion) {
+            return false;
+        }
+        afterCommit(() -> {
+            if (store.clearIfUnchanged(userId, flushedVersion)) {
+                return;
+            }
+            // 검사와 커밋 사이에 들어온 변경. 그대로 두면 다음 flush가 주문된 항목을 되살리므로 내리고 DB에서 다시 읽게 한다
+            log.warn("Cart of user {} changed while checking out; dropping the store entry", userId);
+            CartSnapshot changed = store.get(userId);
+            if (changed != null) {
+                store.clearIfUnchanged(userId, changed.version());
+            }
+        });
+        return true;
+    }
+
+    // 장바구니 행을 잠근 뒤 읽은 스냅샷을 반영한다. 저장소에 없으면 null
+    private Flushed write(Long userId) {
+        CartSnapshot current = store.get(userId);
+        if (current == null) {
+            return null;
+        }
+        return persister.withCartLocked(current.cartId(), () -> {
+            CartSnapshot snapshot = store.get(userId);
+            if (snapshot == null) {
+                return null;
+            }
+            if (!snapshot.dirty() && !hasMissingItemId(snapshot.lines())) {
+                return new Flushed(snapshot.version(), snapshot.lines());
+            }
+            Map<Long, Long> itemIds = persister.write(snapshot.cartId(), snapshot.lines());
+            afterCommit(() -> store.markFlushed(userId, snapshot.version(), itemIds));
+
+            Map<Long, CartLine> lines = new HashMap<>();
+            snapshot.lines().forEach((bookId, line) ->
+                    lines.put(bookId, new CartLine(line.quantity(), itemIds.get(bookId))));
+            return new Flushed(snapshot.version(), Map.copyOf(lines));
+        });
+    }
+
+    private static boolean hasMissingItemId(Map<Long, CartLine> lines) {
+        return lines.values().stream().anyMatch(line -> line.itemId() == null);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // 반영한 version과 항목 id가 채워진 목록
+    private record Flushed(long version, Map<Long, CartLine> lines) {
+    }
+
+    private CartSnapshot loaded(Long userId) {
+        CartSnapshot snapshot = store.get(userId);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        CartSnapshot fromDb = persister.load(userId);
+        store.loadIfAbsent(userId, fromDb.cartId(), fromDb.lines());
+        snapshot = store.get(userId);
+        return snapshot != null ? snapshot : fromDb;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.bookstore.cart;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * 단일 인스턴스용 저장소. 사용자별 상태는 불변 객체로 두고 ConcurrentHashMap.compute 안에서만 교체한다.
+ * 프로세스가 죽으면 아직 flush되지 않은 변경은 사라지므로 flush-interval만큼의 유실을 감수할 때만 쓴다.
+ * 반영이 끝난 장바구니는 idle 시간 동안 쓰이지 않으면 내리고, 다음 요청 때 DB에서 다시 올린다.
+ */
+public class InMemoryCartStore implements CartStore {
+
+    private final Map<Long, State> carts = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final long idleNanos;
+    private final LongSupplier clock;
+
+    public InMemoryCartStore(long idleSeconds) {
+        this(idleSeconds, System::nanoTime);
+    }
+
+    InMemoryCartStore(long idleSeconds, LongSupplier clock) {
+        this.idleNanos = idleSeconds * 1_000_000_000L;
+        this.clock = clock;
+    }
+
+    private record State(Long cartId, Map<Long, CartLine> lines, long version, long touchedAt) {
+    }
+
+    @Override
+    public CartSnapshot get(Long userId) {
+        long now = clock.getAsLong();
+        State state = carts.computeIfPresent(userId,
+                (id, old) -> new State(old.cartId(), old.lines(), old.version(), now));
+        if (state == null) {
+            return null;
+        }
+        return new CartSnapshot(state.cartId(), state.lines(), state.version(), dirty.contains(userId));
+    }
+
+    @Override
+    public void loadIfAbsent(Long userId, Long cartId, Map<Long, CartLine> lines) {
+        carts.putIfAbsent(userId, new State(cartId, Map.copyOf(lines), 0, clock.getAsLong()));
+    }
+
+    @Override
+    public boolean add(Long userId, Long bookId, int quantity) {
+        return mutate(userId, lines -> {
+            lines.merge(bookId, new CartLine(quantity, null),
+                    (old, added) -> new CartLine(old.quantity() + quantity, old.itemId()));
+            return true;
+        });
+    }
+
+    @Override
+    public boolean update(Long userId, Long bookId, int quantity) {
+        return mutate(userId, lines -> lines.computeIfPresent(bookId,
+                (id, old) -> new CartLine(quantity, old.itemId())) != null);
+    }
+
+    @Override
+    public boolean remove(Long userId, Long bookId) {
+        return mutate(userId, lines -> lines.remove(bookId) != null);
+    }
+
+    @Override
+    public Set<Long> dirtyUsers() {
+        return Set.copyOf(dirty);
+    }
+
+    @Override
+    public void markFlushed(Long userId, long version, Map<Long, Long> itemIds) {
+        carts.computeIfPresent(userId, (id, state) -> {
+            Map<Long, CartLine> lines = new HashMap<>(state.lines());
+            itemIds.forEach((bookId, itemId) -> lines.computeIfPresent(bookId,
+                    (b, line) -> line.itemId() == null ? new CartLine(line.quantity(), itemId) : line));
+            if (state.version() == version) {
+                dirty.remove(userId);
+            }
+            return new State(state.cartId(), Map.copyOf(lines), state.version(), state.touchedAt());
+        });
+    }
+
+    @Override
+    public boolean clearIfUnchanged(Long userId, long version) {
+        AtomicBoolean cleared = new AtomicBoolean(false);
+        carts.compute(userId, (id, state) -> {
+            if (state != null && state.version() != version) {
+                return state;
+            }
+            dirty.remove(userId);
+            cleared.set(true);
+            return null;
+        });
+        return cleared.get();
+    }
+
+    // dirty 여부는 같은 compute 안에서 보므로 반영 전인 장바구니는 내리지 않는다
+    @Override
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        for (Long userId : carts.keySet()) {
+            carts.computeIfPresent(userId, (id, state) ->
+                    now - state.touchedAt() >= idleNanos && !dirty.contains(id) ? null : state);
+        }
+    }
+
+    // 변경이 실제로 일어났을 때만 version을 올리고 dirty로 표시
+    private boolean mutate(Long userId, LineMutation mutation) {
+        AtomicBoolean changed = new AtomicBoolean(false);
+        carts.computeIfPresent(userId, (id, state) -> {
+            Map<Long, CartLine> lines = new HashMap<>(state.lines());
+            if (!mutation.apply(lines)) {
+                return state;
+            }
+            changed.set(true);
+            dirty.add(userId);
+            return new State(state.cartId(), Map.copyOf(lines), state.version() + 1, clock.getAsLong());
+        });
+        return changed.get();
+    }
+
+    @FunctionalInterface
+    private interface LineMutation {
+        boolean apply(Map<Long, CartLine> lines);
+    }
+}
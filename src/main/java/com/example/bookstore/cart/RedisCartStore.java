@@ -0,0 +1,231 @@
+package com.example.bookstore.cart;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Redis에 장바구니를 두는 저장소. 응답한 변경은 Redis에 남으므로 인스턴스가 죽어도
+ * 다른 인스턴스(또는 재시작한 인스턴스)의 flusher가 dirty 목록을 보고 DB에 반영한다.
+ *
+ * 사용자마다 cart:{userId}:qty(도서 id → 수량), cart:{userId}:id(도서 id → 항목 id),
+ * cart:{userId}:meta(cartId, version) 세 키를 쓰고, 반영이 필요한 사용자는 cart:dirty 집합에 둔다.
+ * 모든 연산은 Lua 스크립트 하나로 원자적으로 처리한다.
+ */
+public class RedisCartStore implements CartStore {
+
+    private static final String KEY_PREFIX = "cart:";
+    private static final String DIRTY_KEY = "cart:dirty";
+
+    // 공통: KEYS = qty, id, meta, dirty / 마지막 ARGV = TTL(초)
+    private static final String TOUCH = """
+            local ttl = tonumber(ARGV[#ARGV])
+            redis.call('EXPIRE', KEYS[1], ttl)
+            redis.call('EXPIRE', KEYS[2], ttl)
+            redis.call('EXPIRE', KEYS[3], ttl)
+            """;
+
+    private static final String BUMP = """
+            redis.call('HINCRBY', KEYS[3], 'version', 1)
+            redis.call('SADD', KEYS[4], ARGV[1])
+            """ + TOUCH;
+
+    // TTL로 만료된 장바구니는 dirty 목록에서도 뺀다 (flusher가 dirty 사용자를 조회할 때 정리됨)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> GET_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[3]) == 0 then
+                redis.call('SREM', KEYS[4], ARGV[1])
+                return nil
+            end
+            return {redis.call('HMGET', KEYS[3], 'cartId', 'version'),
+                    redis.call('HGETALL', KEYS[1]),
+                    redis.call('HGETALL', KEYS[2]),
+                    redis.call('SISMEMBER', KEYS[4], ARGV[1])}
+            """, List.class);
+
+    // ARGV = userId, cartId, (bookId, quantity, itemId)..., ttl
+    private static final RedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HSETNX', KEYS[3], 'cartId', ARGV[2]) == 0 then
+                return 0
+            end
+            redis.call('HSET', KEYS[3], 'version', 0)
+            for i = 3, #ARGV - 1, 3 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+                if ARGV[i + 2] ~= 'null' then
+                    redis.call('HSET', KEYS[2], ARGV[i], ARGV[i + 2])
+                end
+            end
+            """ + TOUCH + """
+            return 1
+            """, Long.class);
+
+    // ARGV = userId, bookId, quantity, ttl
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[3]) == 0 then
+                return 0
+            end
+            redis.call('HINCRBY', KEYS[1], ARGV[2], ARGV[3])
+            """ + BUMP + """
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HEXISTS', KEYS[1], ARGV[2]) == 0 then
+                return 0
+            end
+            redis.call('HSET', KEYS[1], ARGV[2], ARGV[3])
+            """ + BUMP + """
+            return 1
+            """, Long.class);
+
+    // ARGV = userId, bookId, ttl
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('HDEL', KEYS[1], ARGV[2]) == 0 then
+                return 0
+            end
+            redis.call('HDEL', KEYS[2], ARGV[2])
+            """ + BUMP + """
+            return 1
+            """, Long.class);
+
+    // ARGV = userId, version, (bookId, itemId)..., ttl
+    private static final RedisScript<Long> MARK_FLUSHED_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[3]) == 0 then
+                return 0
+            end
+            for i = 3, #ARGV - 1, 2 do
+                if redis.call('HEXISTS', KEYS[1], ARGV[i]) == 1 then
+                    redis.call('HSETNX', KEYS[2], ARGV[i], ARGV[i + 1])
+                end
+            end
+            if redis.call('HGET', KEYS[3], 'version') == ARGV[2] then
+                redis.call('SREM', KEYS[4], ARGV[1])
+            end
+            """ + TOUCH + """
+            return 1
+            """, Long.class);
+
+    // ARGV = userId, version
+    private static final RedisScript<Long> CLEAR_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('HGET', KEYS[3], 'version')
+            if version and version ~= ARGV[2] then
+                return 0
+            end
+            redis.call('DEL', KEYS[1], KEYS[2], KEYS[3])
+            redis.call('SREM', KEYS[4], ARGV[1])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String ttlSeconds;
+
+    public RedisCartStore(StringRedisTemplate redisTemplate, long ttlSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.ttlSeconds = String.valueOf(ttlSeconds);
+    }
+
+    @Override
+    public CartSnapshot get(Long userId) {
+        List<?> result = redisTemplate.execute(GET_SCRIPT, keys(userId), userId.toString());
+        if (result == null || result.isEmpty()) {
+            return null;
+        }
+        List<?> meta = (List<?>) result.get(0);
+        Map<Long, Long> quantities = toLongMap((List<?>) result.get(1));
+        Map<Long, Long> itemIds = toLongMap((List<?>) result.get(2));
+
+        Map<Long, CartLine> lines = new HashMap<>();
+        quantities.forEach((bookId, quantity) ->
+                lines.put(bookId, new CartLine(quantity.intValue(), itemIds.get(bookId))));
+        return new CartSnapshot(
+                Long.valueOf(meta.get(0).toString()),
+                Map.copyOf(lines),
+                Long.parseLong(meta.get(1).toString()),
+                ((Number) result.get(3)).longValue() == 1);
+    }
+
+    @Override
+    public void loadIfAbsent(Long userId, Long cartId, Map<Long, CartLine> lines) {
+        List<String> args = new ArrayList<>();
+        args.add(userId.toString());
+        args.add(cartId.toString());
+        lines.forEach((bookId, line) -> {
+            args.add(bookId.toString());
+            args.add(String.valueOf(line.quantity()));
+            args.add(String.valueOf(line.itemId()));
+        });
+        args.add(ttlSeconds);
+        redisTemplate.execute(LOAD_SCRIPT, keys(userId), args.toArray());
+    }
+
+    @Override
+    public boolean add(Long userId, Long bookId, int quantity) {
+        return run(ADD_SCRIPT, userId, bookId.toString(), String.valueOf(quantity), ttlSeconds);
+    }
+
+    @Override
+    public boolean update(Long userId, Long bookId, int quantity) {
+        return run(UPDATE_SCRIPT, userId, bookId.toString(), String.valueOf(quantity), ttlSeconds);
+    }
+
+    @Override
+    public boolean remove(Long userId, Long bookId) {
+        return run(REMOVE_SCRIPT, userId, bookId.toString(), ttlSeconds);
+    }
+
+    @Override
+    public Set<Long> dirtyUsers() {
+        Set<String> members = redisTemplate.opsForSet().members(DIRTY_KEY);
+        if (members == null) {
+            return Set.of();
+        }
+        return members.stream().map(Long::valueOf).collect(Collectors.toSet());
+    }
+
+    @Override
+    public void markFlushed(Long userId, long version, Map<Long, Long> itemIds) {
+        List<String> args = new ArrayList<>();
+        args.add(userId.toString());
+        args.add(String.valueOf(version));
+        itemIds.forEach((bookId, itemId) -> {
+            args.add(bookId.toString());
+            args.add(itemId.toString());
+        });
+        args.add(ttlSeconds);
+        redisTemplate.execute(MARK_FLUSHED_SCRIPT, keys(userId), args.toArray());
+    }
+
+    @Override
+    public boolean clearIfUnchanged(Long userId, long version) {
+        return run(CLEAR_SCRIPT, userId, String.valueOf(version));
+    }
+
+    private boolean run(RedisScript<Long> script, Long userId, String... args) {
+        Object[] argv = new Object[args.length + 1];
+        argv[0] = userId.toString();
+        System.arraycopy(args, 0, argv, 1, args.length);
+        Long result = redisTemplate.execute(script, keys(userId), argv);
+        return result != null && result == 1;
+    }
+
+    private static List<String> keys(Long userId) {
+        String prefix = KEY_PREFIX + userId;
+        return List.of(prefix + ":qty", prefix + ":id", prefix + ":meta", DIRTY_KEY);
+    }
+
+    // HGETALL 결과(필드, 값, 필드, 값...)를 Map으로
+    private static Map<Long, Long> toLongMap(List<?> flat) {
+        Map<Long, Long> map = new HashMap<>();
+        for (int i = 0; i + 1 < flat.size(); i += 2) {
+            map.put(Long.valueOf(flat.get(i).toString()), Long.valueOf(flat.get(i + 1).toString()));
+        }
+        return map;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.cart.CartPersister;
+import com.example.bookstore.cart.CartStore;
+import com.example.bookstore.cart.CartWriteBehind;
+import com.example.bookstore.cart.InMemoryCartStore;
+import com.example.bookstore.cart.RedisCartStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+// cart.store=db(기본)이면 아무 빈도 만들지 않고 CartService가 매 요청 DB에 바로 쓴다
+@Configuration
+public class CartStoreConfig {
+
+    // 단일 인스턴스. 프로세스가 죽으면 flush 전 변경은 유실
+    @Bean
+    @ConditionalOnProperty(name = "cart.store", havingValue = "memory")
+    public CartStore inMemoryCartStore(@Value("${cart.store.memory.idle-seconds:1800}") long idleSeconds) {
+        return new InMemoryCartStore(idleSeconds);
+    }
+
+    // 여러 인스턴스 공유 + 재시작해도 flush 전 변경 유지
+    @Bean
+    @ConditionalOnProperty(name = "cart.store", havingValue = "redis")
+    public CartStore redisCartStore(StringRedisTemplate redisTemplate,
+                                    @Value("${cart.store.redis.ttl-seconds:604800}") long ttlSeconds) {
+        return new RedisCartStore(redisTemplate, ttlSeconds);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${cart.store:db}' != 'db'")
+    public CartWriteBehind cartWriteBehind(CartStore cartStore, CartPersister cartPersister) {
+        return new CartWriteBehind(cartStore, cartPersister);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bookstore.config;
 
 import com.example.bookstore.entity.*;
 import com.example.bookstore.repository.*;
+import com.example.bookstore.service.SalesRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -26,6 +27,7 @@ public class DataInitializer implements CommandLineRunner {
     private final ReviewRepository reviewRepository;
     private final OrderRepository orderRepository;
     private final FavoriteRepository favoriteRepository;
+    private final SalesRollupService salesRollupService;
     private final PasswordEncoder passwordEncoder;
 
     private final Random random = new Random();
@@ -240,6 +242,8 @@ public class DataInitializer implements CommandLineRunner {
             order.setTotalAmount(totalAmount);
             order.setItems(items);
             orderRepository.save(order);
+            // 시작 시 백필은 이 초기화보다 먼저 끝나므로 주문처럼 증분 반영
+            salesRollupService.onOrderCreated(order);
         }
     }
 
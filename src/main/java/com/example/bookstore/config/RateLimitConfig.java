@@ -0,0 +1,31 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.ratelimit.InMemoryRateLimitStore;
+import com.example.bookstore.ratelimit.RateLimitStore;
+import com.example.bookstore.ratelimit.RedisRateLimitStore;
+import com.example.bookstore.ratelimit.ScriptRedisBucketClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Configuration
+public class RateLimitConfig {
+
+    // 단일 인스턴스 (기본)
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.store", havingValue = "memory", matchIfMissing = true)
+    public RateLimitStore inMemoryRateLimitStore(RateLimitProperties properties) {
+        return new InMemoryRateLimitStore(properties.getMaxKeys());
+    }
+
+    // 여러 인스턴스가 한도를 공유해야 할 때 (rate-limit.store=redis)
+    @Bean
+    @ConditionalOnProperty(name = "rate-limit.store", havingValue = "redis")
+    public RateLimitStore redisRateLimitStore(RateLimitProperties properties, StringRedisTemplate redisTemplate) {
+        return new RedisRateLimitStore(
+                new ScriptRedisBucketClient(redisTemplate),
+                properties.getRedis().getBatchSize(),
+                properties.getRedis().getFlushInterval());
+    }
+}
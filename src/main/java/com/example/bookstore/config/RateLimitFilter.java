@@ -1,27 +1,51 @@
 package com.example.bookstore.config;
 
+import com.example.bookstore.entity.User;
+import com.example.bookstore.ratelimit.RateLimit;
+import com.example.bookstore.ratelimit.RateLimitDecision;
+import com.example.bookstore.ratelimit.RateLimitPolicy;
+import com.example.bookstore.ratelimit.RateLimitPolicyMatcher;
+import com.example.bookstore.ratelimit.RateLimitStore;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 @Order(1)
 public class RateLimitFilter implements Filter {
 
-    // IP별 요청 횟수 저장
-    private final Map<String, RateLimitInfo> requestCounts = new ConcurrentHashMap<>();
+    private static final String API_KEY_HEADER = "X-API-Key";
 
-    // 제한 설정: 분당 100회
-    private static final int MAX_REQUESTS_PER_MINUTE = 100;
-    private static final long TIME_WINDOW_MS = 60_000; // 1분
+    private final boolean enabled;
+
+    // 어떤 정책에도 해당하지 않는 요청에 적용할 IP별 기본 정책
+    private final RateLimitPolicy defaultPolicy;
+
+    // 경로/메서드별 정책 (시작 시 한 번 컴파일)
+    private final RateLimitPolicyMatcher policyMatcher;
+
+    // 정책+키별 토큰 버킷 (memory 또는 redis, RateLimitConfig 참고)
+    private final RateLimitStore rateLimitStore;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitStore rateLimitStore) {
+        this.enabled = properties.isEnabled();
+        this.defaultPolicy = new RateLimitPolicy("default", null, "/**",
+                new RateLimit(properties.getCapacity(), properties.getRefillPerMinute()),
+                RateLimitPolicy.KeyType.IP);
+        this.policyMatcher = new RateLimitPolicyMatcher(properties.getPolicies().stream()
+                .map(p -> new RateLimitPolicy(p.getName(), p.getMethod(), p.getPattern(),
+                        new RateLimit(p.getCapacity(), p.getRefillPerMinute()), p.getKey()))
+                .toList());
+        this.rateLimitStore = rateLimitStore;
+    }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
@@ -30,24 +54,28 @@ public class RateLimitFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
 
-        String clientIp = getClientIp(httpRequest);
-
         // 헬스체크는 rate limit 제외
-        if (httpRequest.getRequestURI().equals("/health")) {
+        if (!enabled || httpRequest.getRequestURI().equals("/health")) {
             chain.doFilter(request, response);
             return;
         }
 
-        RateLimitInfo rateLimitInfo = requestCounts.compute(clientIp, (key, info) -> {
-            long now = System.currentTimeMillis();
-            if (info == null || now - info.windowStart > TIME_WINDOW_MS) {
-                return new RateLimitInfo(now, new AtomicInteger(1));
-            }
-            info.count.incrementAndGet();
-            return info;
-        });
+        RateLimitPolicy policy = policyMatcher.match(httpRequest.getMethod(), httpRequest.getRequestURI());
+        if (policy == null) {
+            policy = defaultPolicy;
+        }
+
+        String bucketKey = policy.name() + ":" + resolveKey(httpRequest, policy.keyType());
+        RateLimitDecision decision = rateLimitStore.tryAcquire(bucketKey, policy.limit());
+
+        // Rate Limit 헤더 추가
+        httpResponse.setHeader("X-RateLimit-Limit", String.valueOf(decision.limit()));
+        httpResponse.setHeader("X-RateLimit-Remaining", String.valueOf(decision.remaining()));
 
-        if (rateLimitInfo.count.get() > MAX_REQUESTS_PER_MINUTE) {
+        if (!decision.allowed()) {
+            // 클라이언트가 언제 다시 시도할지 알 수 있도록 초 단위로 올림
+            long retryAfterSeconds = Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+            httpResponse.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
             httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             httpResponse.setContentType("application/json;charset=UTF-8");
             httpResponse.getWriter().write("""
@@ -62,14 +90,29 @@ public class RateLimitFilter implements Filter {
             return;
         }
 
-        // Rate Limit 헤더 추가
-        httpResponse.setHeader("X-RateLimit-Limit", String.valueOf(MAX_REQUESTS_PER_MINUTE));
-        httpResponse.setHeader("X-RateLimit-Remaining",
-                String.valueOf(Math.max(0, MAX_REQUESTS_PER_MINUTE - rateLimitInfo.count.get())));
-
         chain.doFilter(request, response);
     }
 
+    private String resolveKey(HttpServletRequest request, RateLimitPolicy.KeyType keyType) {
+        switch (keyType) {
+            case USER -> {
+                Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+                if (auth != null && auth.getPrincipal() instanceof User user && user.getId() != null) {
+                    return "user:" + user.getId();
+                }
+            }
+            case API_KEY -> {
+                String apiKey = request.getHeader(API_KEY_HEADER);
+                if (apiKey != null && !apiKey.isBlank()) {
+                    return "key:" + apiKey;
+                }
+            }
+            default -> {
+            }
+        }
+        return "ip:" + getClientIp(request);
+    }
+
     private String getClientIp(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
@@ -77,14 +120,4 @@ public class RateLimitFilter implements Filter {
         }
         return request.getRemoteAddr();
     }
-
-    private static class RateLimitInfo {
-        long windowStart;
-        AtomicInteger count;
-
-        RateLimitInfo(long windowStart, AtomicInteger count) {
-            this.windowStart = windowStart;
-            this.count = count;
-        }
-    }
-}
\ No newline at end of file
+}
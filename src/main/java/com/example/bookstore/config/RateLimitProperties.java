@@ -0,0 +1,52 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.ratelimit.RateLimitPolicy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // 어떤 정책에도 해당하지 않는 요청의 IP별 기본 한도
+    private long capacity = 100;
+    private long refillPerMinute = 100;
+
+    private int maxKeys = 100_000;
+
+    // memory | redis
+    private String store = "memory";
+
+    private Redis redis = new Redis();
+
+    private List<Policy> policies = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Redis {
+        // 키별로 이만큼 소비가 쌓이면 주기를 기다리지 않고 바로 반영
+        private int batchSize = 10;
+        // 모아 둔 소비량을 Redis에 반영하는 주기 (ms)
+        private long flushInterval = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private String name;
+        private String method;      // 비우면 모든 메서드
+        private String pattern;     // 예: /api/books/*/rating, /api/admin/**
+        private long capacity;
+        private long refillPerMinute;
+        private RateLimitPolicy.KeyType key = RateLimitPolicy.KeyType.IP;
+    }
+}
@@ -55,6 +55,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // Book rating - public
                         .requestMatchers(HttpMethod.GET, "/api/books/*/rating").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/books/ratings").permitAll()
                         // Review single - public
                         .requestMatchers(HttpMethod.GET, "/api/reviews/*").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/books/*/reviews").permitAll()
@@ -0,0 +1,83 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.dto.ApiResponse;
+import com.example.bookstore.dto.analytics.SalesSummaryResponse;
+import com.example.bookstore.exception.BusinessException;
+import com.example.bookstore.exception.ErrorCode;
+import com.example.bookstore.service.SalesRollupBackfill;
+import com.example.bookstore.service.SalesRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+@Tag(name = "Analytics (Admin)", description = "매출 통계 관리자 API")
+@RestController
+@RequestMapping("/api/admin/analytics")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class AdminAnalyticsController {
+
+    private static final int MAX_TOP = 100;
+    private static final int MAX_BACKFILL_DAYS = 366;
+
+    private final SalesRollupService salesRollupService;
+    private final SalesRollupBackfill salesRollupBackfill;
+
+    // 44. GET /api/admin/analytics/sales - 기간별 매출 요약 (관리자)
+    @Operation(summary = "매출 요약", description = "기간 [from, to)의 주문 수, 매출, 판매 수량, 상태별 집계, 많이 팔린 도서를 조회합니다. " +
+            "시 단위로 내림하며 기본값은 최근 7일입니다 (관리자 전용)")
+    @GetMapping("/sales")
+    public ResponseEntity<ApiResponse<SalesSummaryResponse>> getSalesSummary(
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "top", defaultValue = "10") int top) {
+        // 기본 끝은 다음 정시 (현재 시간대 포함)
+        LocalDateTime end = to != null ? to : LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        if (!start.isBefore(end)) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM, "from은 to보다 빨라야 합니다");
+        }
+        if (top < 1 || top > MAX_TOP) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM, "top은 1~" + MAX_TOP + " 사이여야 합니다");
+        }
+        SalesSummaryResponse response = salesRollupService.getSummary(start, end, top);
+        return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
+    }
+
+    // 45. POST /api/admin/analytics/sales/backfill - 매출 집계 재계산 (관리자)
+    @Operation(summary = "매출 집계 재계산", description = "from ~ to (날짜 포함) 기간의 집계를 주문 테이블 기준으로 다시 만듭니다. " +
+            "백그라운드로 실행하며 최대 " + MAX_BACKFILL_DAYS + "일, 어제까지만 가능합니다 (관리자 전용)")
+    @PostMapping("/sales/backfill")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> backfillSales(
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM, "from은 to보다 늦을 수 없습니다");
+        }
+        // 오늘 집계는 주문마다 증분 갱신 중이라 다시 만들면 겹친다
+        if (!to.isBefore(LocalDate.now())) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM, "to는 어제 이전이어야 합니다");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_BACKFILL_DAYS) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                    "한 번에 최대 " + MAX_BACKFILL_DAYS + "일까지 재계산할 수 있습니다");
+        }
+        if (!salesRollupBackfill.start(from, to)) {
+            throw new BusinessException(ErrorCode.STATE_CONFLICT, "이미 재계산 중입니다");
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("재계산을 시작했습니다", Map.of(
+                "from", from,
+                "to", to
+        )));
+    }
+}
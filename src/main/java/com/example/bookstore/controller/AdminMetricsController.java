@@ -0,0 +1,49 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.dto.ApiResponse;
+import com.example.bookstore.security.UserCache;
+import com.example.bookstore.security.VerifiedTokenCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@Tag(name = "Metrics (Admin)", description = "운영 지표 관리자 API")
+@RestController
+@RequestMapping("/api/admin/metrics")
+@RequiredArgsConstructor
+@SecurityRequirement(name = "bearerAuth")
+public class AdminMetricsController {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserCache userCache;
+
+    // 38. GET /api/admin/metrics/auth - 인증 캐시 지표 조회 (관리자)
+    @Operation(summary = "인증 캐시 지표 조회", description = "토큰 검증 캐시와 사용자 캐시의 적중률, 검증 지연 시간을 조회합니다 (관리자 전용)")
+    @GetMapping("/auth")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getAuthMetrics() {
+        return ResponseEntity.ok(ApiResponse.success("조회 성공", Map.of(
+                "tokenCache", Map.of(
+                        "enabled", verifiedTokenCache.isEnabled(),
+                        "size", verifiedTokenCache.size(),
+                        "hits", verifiedTokenCache.getHitCount(),
+                        "misses", verifiedTokenCache.getMissCount(),
+                        "hitRatio", verifiedTokenCache.getHitRatio(),
+                        "verifications", verifiedTokenCache.getVerificationCount(),
+                        "avgVerificationMicros", verifiedTokenCache.getAverageVerificationMicros()
+                ),
+                "userCache", Map.of(
+                        "size", userCache.size(),
+                        "hits", userCache.getHitCount(),
+                        "misses", userCache.getMissCount(),
+                        "evictions", userCache.getEvictionCount()
+                )
+        )));
+    }
+}
@@ -2,19 +2,28 @@ package com.example.bookstore.controller;
 
 import com.example.bookstore.dto.ApiResponse;
 import com.example.bookstore.dto.PageResponse;
+import com.example.bookstore.dto.order.OrderExportFormat;
 import com.example.bookstore.dto.order.OrderResponse;
 import com.example.bookstore.entity.Order;
+import com.example.bookstore.exception.BusinessException;
+import com.example.bookstore.exception.ErrorCode;
+import com.example.bookstore.service.OrderExportService;
 import com.example.bookstore.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "Order (Admin)", description = "주문 관리자 API")
@@ -25,6 +34,7 @@ import java.util.List;
 public class AdminOrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
 
     // 35. GET /api/admin/orders - 전체 주문 목록 조회 (관리자)
     @Operation(summary = "전체 주문 목록 조회", description = "전체 주문 목록을 조회합니다 (관리자 전용)")
@@ -42,4 +52,28 @@ public class AdminOrderController {
         List<OrderResponse> response = orderService.getOrdersByStatus(status);
         return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
     }
+
+    // 43. GET /api/admin/orders/export - 주문 내보내기 (관리자)
+    @Operation(summary = "주문 내보내기", description = "조건에 맞는 주문을 CSV 또는 NDJSON으로 스트리밍합니다 (관리자 전용). 기간은 from~to 날짜 포함")
+    @GetMapping("/export")
+    public void exportOrders(
+            @RequestParam(name = "format", required = false) String format,
+            @RequestParam(name = "status", required = false) Order.OrderStatus status,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletResponse response) throws IOException {
+        OrderExportFormat exportFormat = OrderExportFormat.from(format);
+        // 응답을 쓰기 시작하면 에러 응답으로 바꿀 수 없으므로 검증을 먼저 끝낸다
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM, "from은 to보다 늦을 수 없습니다");
+        }
+
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + exportFormat.getExtension() + "\"");
+        orderExportService.export(exportFormat, status,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                response.getOutputStream());
+    }
 }
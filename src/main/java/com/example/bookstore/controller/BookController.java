@@ -1,9 +1,14 @@
 package com.example.bookstore.controller;
 
 import com.example.bookstore.dto.ApiResponse;
+import com.example.bookstore.dto.CursorResponse;
 import com.example.bookstore.dto.PageResponse;
+import com.example.bookstore.dto.book.BookFacetResponse;
+import com.example.bookstore.dto.book.BookRankingResponse;
 import com.example.bookstore.dto.book.BookRatingResponse;
 import com.example.bookstore.dto.book.BookResponse;
+import com.example.bookstore.dto.book.BookSuggestionResponse;
+import com.example.bookstore.ranking.RankingType;
 import com.example.bookstore.service.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,6 +19,8 @@ import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Tag(name = "Book (Public)", description = "도서 공개 API")
 @RestController
 @RequestMapping("/api")
@@ -31,14 +38,81 @@ public class BookController {
     }
 
     // 8. GET /api/public/books - 도서 목록 조회 (공개, 페이지네이션/검색)
-    @Operation(summary = "도서 목록 조회", description = "도서 목록을 페이지네이션하여 조회합니다. 키워드, 저자, 출판사로 검색 가능합니다")
+    // cursor 파라미터가 있으면 커서 모드(빈 값이면 첫 페이지), 없으면 기존 오프셋 모드
+    @Operation(summary = "도서 목록 조회", description = "도서 목록을 페이지네이션하여 조회합니다. 키워드, 저자, 출판사로 검색 가능합니다. " +
+            "cursor 파라미터를 주면 최신순 커서 페이지네이션(hasNext, nextCursor)으로 응답합니다. " +
+            "sort=relevance 와 keyword 를 함께 주면 관련도/인기도 순으로 정렬합니다. includeRating=true 이면 평균 평점과 리뷰 수를 함께 반환합니다")
     @GetMapping("/public/books")
-    public ResponseEntity<ApiResponse<PageResponse<BookResponse>>> getBooks(
+    public ResponseEntity<ApiResponse<?>> getBooks(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String author,
             @RequestParam(required = false) String publisher,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeRating,
             @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        if (cursor != null) {
+            CursorResponse<BookResponse> response = bookService.getBooksByCursor(
+                    keyword, author, publisher, cursor, pageable.getPageSize());
+            if (includeRating) {
+                bookService.embedRatings(response.getContent());
+            }
+            return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
+        }
         PageResponse<BookResponse> response = bookService.getBooks(keyword, author, publisher, pageable);
+        if (includeRating) {
+            bookService.embedRatings(response.getContent());
+        }
+        return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
+    }
+
+    // 39. GET /api/public/books/suggest - 도서 자동완성 (공개)
+    @Operation(summary = "도서 자동완성", description = "제목/저자/출판사 중 단어가 prefix 로 시작하는 후보를 도서 수 많은 순으로 반환합니다")
+    @GetMapping("/public/books/suggest")
+    public ResponseEntity<ApiResponse<List<BookSuggestionResponse>>> suggest(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<BookSuggestionResponse> response = bookService.suggest(prefix, limit);
+        return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
+    }
+
+    // 40. GET /api/public/books/facets - 도서 facet 검색 (공개)
+    @Operation(summary = "도서 facet 검색", description = "저자/출판사/가격대/출판 연도 조건을 조합해 검색하고 facet 별 건수를 함께 반환합니다. " +
+            "같은 facet 의 여러 값은 OR, facet 사이는 AND 로 결합합니다")
+    @GetMapping("/public/books/facets")
+    public ResponseEntity<ApiResponse<BookFacetResponse>> searchFacets(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) List<String> author,
+            @RequestParam(required = false) List<String> publisher,
+            @RequestParam(required = false) List<String> priceBand,
+            @RequestParam(required = false) List<Integer> year,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        BookFacetResponse response = bookService.searchFacets(keyword, author, publisher, priceBand, year, pageable);
+        return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
+    }
+
+    // 46. GET /api/public/books/bestsellers - 베스트셀러 (공개)
+    @Operation(summary = "베스트셀러", description = "최근 며칠간 판매량(오래된 판매일수록 적게 반영) 순위를 반환합니다. 몇 초마다 갱신됩니다")
+    @GetMapping("/public/books/bestsellers")
+    public ResponseEntity<ApiResponse<List<BookRankingResponse>>> getBestsellers(
+            @RequestParam(defaultValue = "10") int limit) {
+        List<BookRankingResponse> response = bookService.getRanking(RankingType.BESTSELLER, limit);
+        return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
+    }
+
+    // 47. GET /api/public/books/trending - 급상승 도서 (공개)
+    @Operation(summary = "급상승 도서", description = "최근 몇 시간 판매량 순위를 반환합니다. 몇 초마다 갱신됩니다")
+    @GetMapping("/public/books/trending")
+    public ResponseEntity<ApiResponse<List<BookRankingResponse>>> getTrending(
+            @RequestParam(defaultValue = "10") int limit) {
+        List<BookRankingResponse> response = bookService.getRanking(RankingType.TRENDING, limit);
+        return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
+    }
+
+    // 41. GET /api/books/ratings?ids=1,2,3 - 여러 도서 평점 일괄 조회 (공개)
+    @Operation(summary = "도서 평점 일괄 조회", description = "최대 100권의 평균 평점과 리뷰 수를 한 번에 조회합니다. 없는 도서는 결과에서 제외됩니다")
+    @GetMapping("/books/ratings")
+    public ResponseEntity<ApiResponse<List<BookRatingResponse>>> getBookRatings(@RequestParam List<Long> ids) {
+        List<BookRatingResponse> response = bookService.getBookRatings(ids);
         return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
     }
 
@@ -5,6 +5,7 @@ import com.example.bookstore.dto.cart.CartItemRequest;
 import com.example.bookstore.dto.cart.CartItemResponse;
 import com.example.bookstore.entity.User;
 import com.example.bookstore.service.CartService;
+import com.example.bookstore.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,21 +15,23 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 @Tag(name = "Cart", description = "장바구니 API")
 @RestController
-@RequestMapping("/api/carts/items")
+@RequestMapping("/api/carts")
 @RequiredArgsConstructor
 @SecurityRequirement(name = "bearerAuth")
 public class CartController {
 
     private final CartService cartService;
+    private final OrderService orderService;
 
     // 14. POST /api/carts/items - 장바구니 항목 추가
     @Operation(summary = "장바구니 항목 추가", description = "장바구니에 도서를 추가합니다")
-    @PostMapping
+    @PostMapping("/items")
     public ResponseEntity<ApiResponse<Map<String, Long>>> addCartItem(
             @AuthenticationPrincipal User user,
             @Valid @RequestBody CartItemRequest request) {
@@ -38,7 +41,7 @@ public class CartController {
 
     // 15. PUT /api/carts/items - 장바구니 수량 수정
     @Operation(summary = "장바구니 수량 수정", description = "장바구니 항목의 수량을 수정합니다")
-    @PutMapping
+    @PutMapping("/items")
     public ResponseEntity<ApiResponse<Map<String, Long>>> updateCartItemQuantity(
             @AuthenticationPrincipal User user,
             @Valid @RequestBody CartItemRequest request) {
@@ -48,7 +51,7 @@ public class CartController {
 
     // 16. GET /api/carts/items - 장바구니 조회
     @Operation(summary = "장바구니 조회", description = "현재 장바구니의 모든 항목을 조회합니다")
-    @GetMapping
+    @GetMapping("/items")
     public ResponseEntity<ApiResponse<List<CartItemResponse>>> getCartItems(@AuthenticationPrincipal User user) {
         List<CartItemResponse> response = cartService.getCartItems(user);
         return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
@@ -56,11 +59,22 @@ public class CartController {
 
     // 17. DELETE /api/carts/items/{cartItemId} - 장바구니 항목 삭제
     @Operation(summary = "장바구니 항목 삭제", description = "장바구니에서 항목을 삭제합니다")
-    @DeleteMapping("/{cartItemId}")
+    @DeleteMapping("/items/{cartItemId}")
     public ResponseEntity<Void> deleteCartItem(
             @AuthenticationPrincipal User user,
             @PathVariable("cartItemId") Long cartItemId) {
         cartService.deleteCartItem(user, cartItemId);
         return ResponseEntity.ok().build();
     }
+
+    // 42. POST /api/carts/checkout - 장바구니 주문 전환
+    @Operation(summary = "장바구니 주문", description = "장바구니의 모든 항목으로 주문을 생성하고 장바구니를 비웁니다")
+    @PostMapping("/checkout")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> checkout(@AuthenticationPrincipal User user) {
+        Long orderId = orderService.checkout(user);
+        return ResponseEntity.ok(ApiResponse.success("주문이 정상적으로 생성되었습니다", Map.of(
+                "orderId", orderId,
+                "createdAt", LocalDateTime.now()
+        )));
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.bookstore.controller;
 
 import com.example.bookstore.dto.ApiResponse;
+import com.example.bookstore.dto.CursorResponse;
 import com.example.bookstore.dto.review.MyReviewsResponse;
 import com.example.bookstore.dto.review.ReviewRequest;
 import com.example.bookstore.dto.review.ReviewResponse;
@@ -16,7 +17,6 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 
 @Tag(name = "Review", description = "리뷰 API")
@@ -42,12 +42,16 @@ public class ReviewController {
         )));
     }
 
-    // 23. GET /api/reviews/me - 내 리뷰 전체 조회
-    @Operation(summary = "내 리뷰 전체 조회", description = "현재 사용자가 작성한 모든 리뷰를 조회합니다")
+    // 23. GET /api/reviews/me - 내 리뷰 조회 (커서 페이지네이션)
+    @Operation(summary = "내 리뷰 조회", description = "현재 사용자가 작성한 리뷰를 커서 페이지네이션으로 조회합니다. sort: newest(기본) | rating")
     @GetMapping("/reviews/me")
     @SecurityRequirement(name = "bearerAuth")
-    public ResponseEntity<ApiResponse<MyReviewsResponse>> getMyReviews(@AuthenticationPrincipal User user) {
-        MyReviewsResponse response = reviewService.getMyReviews(user);
+    public ResponseEntity<ApiResponse<MyReviewsResponse>> getMyReviews(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        MyReviewsResponse response = reviewService.getMyReviews(user, sort, cursor, size);
         return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
     }
 
@@ -59,11 +63,15 @@ public class ReviewController {
         return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
     }
 
-    // 25. GET /api/books/{bookId}/reviews - 도서별 리뷰 조회
-    @Operation(summary = "도서별 리뷰 조회", description = "특정 도서의 모든 리뷰를 조회합니다")
+    // 25. GET /api/books/{bookId}/reviews - 도서별 리뷰 조회 (커서 페이지네이션)
+    @Operation(summary = "도서별 리뷰 조회", description = "특정 도서의 리뷰를 커서 페이지네이션으로 조회합니다. sort: newest(기본) | rating")
     @GetMapping("/books/{bookId}/reviews")
-    public ResponseEntity<ApiResponse<List<ReviewResponse>>> getBookReviews(@PathVariable("bookId") Long bookId) {
-        List<ReviewResponse> response = reviewService.getBookReviews(bookId);
+    public ResponseEntity<ApiResponse<CursorResponse<ReviewResponse>>> getBookReviews(
+            @PathVariable("bookId") Long bookId,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorResponse<ReviewResponse> response = reviewService.getBookReviews(bookId, sort, cursor, size);
         return ResponseEntity.ok(ApiResponse.success("조회 성공", response));
     }
 
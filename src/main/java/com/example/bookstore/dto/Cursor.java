@@ -0,0 +1,45 @@
+package com.example.bookstore.dto;
+
+import com.example.bookstore.exception.BusinessException;
+import com.example.bookstore.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 커서 페이지네이션용 불투명(opaque) 커서.
+ * 정렬 키와 ID를 구분자로 이어 붙인 뒤 URL-safe Base64 로 인코딩한다.
+ */
+public final class Cursor {
+
+    private static final String DELIMITER = "|";
+
+    private Cursor() {
+    }
+
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(DELIMITER);
+            }
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 형식이 맞지 않는 커서는 INVALID_QUERY_PARAM 으로 거절
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + DELIMITER, -1);
+            if (parts.length != expectedParts) {
+                throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.bookstore.dto.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 기간 [from, to) 매출 요약. 합계(orderCount, revenue, units)는 취소 주문을 뺀 값
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesSummaryResponse {
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long orderCount;
+    private long revenue;
+    private long units;
+    private List<StatusSales> byStatus;
+    private List<BookSales> topBooks;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusSales {
+        private String status;
+        private long orderCount;
+        private long revenue;
+        private long units;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BookSales {
+        private Long bookId;
+        private String title;
+        private long units;
+        private long revenue;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.bookstore.dto.book;
+
+import com.example.bookstore.dto.PageResponse;
+import com.example.bookstore.search.FacetCount;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookFacetResponse {
+
+    private PageResponse<BookResponse> books;
+    private List<FacetCount> authors;
+    private List<FacetCount> publishers;
+    private List<FacetCount> priceBands;
+    private List<FacetCount> years;
+}
@@ -0,0 +1,33 @@
+package com.example.bookstore.dto.book;
+
+import com.example.bookstore.entity.Book;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookRankingResponse {
+
+    private Integer rank;
+    private Long bookId;
+    private String title;
+    private String author;
+    private String publisher;
+    // 시간이 지나며 줄어드는 판매 점수 (최근 판매 수량에 가까운 값)
+    private Double score;
+
+    public static BookRankingResponse of(int rank, Book book, double score) {
+        return BookRankingResponse.builder()
+                .rank(rank)
+                .bookId(book.getId())
+                .title(book.getTitle())
+                .author(book.getAuthor())
+                .publisher(book.getPublisher())
+                .score(score)
+                .build();
+    }
+}
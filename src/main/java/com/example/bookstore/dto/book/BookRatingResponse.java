@@ -1,10 +1,14 @@
 package com.example.bookstore.dto.book;
 
+import com.example.bookstore.entity.BookRatingStats;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -14,4 +18,21 @@ public class BookRatingResponse {
     private Long bookId;
     private Double averageRating;
     private Long reviewCount;
+    // 별점(1~5)별 리뷰 수
+    private Map<Integer, Long> histogram;
+
+    public static BookRatingResponse from(BookRatingStats stats) {
+        long[] stars = stats.getHistogram();
+        Map<Integer, Long> histogram = new LinkedHashMap<>();
+        for (int star = 1; star <= 5; star++) {
+            histogram.put(star, stars[star - 1]);
+        }
+
+        return BookRatingResponse.builder()
+                .bookId(stats.getBookId())
+                .averageRating(Math.round(stats.getAverageRating() * 10) / 10.0)
+                .reviewCount(stats.getRatingCount())
+                .histogram(histogram)
+                .build();
+    }
 }
@@ -1,6 +1,7 @@
 package com.example.bookstore.dto.book;
 
 import com.example.bookstore.entity.Book;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,6 +24,12 @@ public class BookResponse {
     private Integer price;
     private LocalDate publicationDate;
 
+    // includeRating=true 로 목록을 조회할 때만 채운다
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double averageRating;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long reviewCount;
+
     public static BookResponse from(Book book) {
         return BookResponse.builder()
                 .bookId(book.getId())
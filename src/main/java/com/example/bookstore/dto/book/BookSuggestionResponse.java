@@ -0,0 +1,26 @@
+package com.example.bookstore.dto.book;
+
+import com.example.bookstore.search.Suggestion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSuggestionResponse {
+
+    private String text;
+    private String type;
+    private Integer bookCount;
+
+    public static BookSuggestionResponse from(Suggestion suggestion) {
+        return BookSuggestionResponse.builder()
+                .text(suggestion.text())
+                .type(suggestion.field().name())
+                .bookCount(suggestion.count())
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.bookstore.dto.order;
+
+import com.example.bookstore.exception.BusinessException;
+import com.example.bookstore.exception.ErrorCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 내보내기 형식. CSV는 헤더 한 줄 + 주문당 한 줄, NDJSON은 주문당 JSON 객체 한 줄.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum OrderExportFormat {
+    CSV("text/csv;charset=UTF-8", "csv"),
+    NDJSON("application/x-ndjson;charset=UTF-8", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    public static OrderExportFormat from(String value) {
+        if (value == null || value.isEmpty()) {
+            return CSV;
+        }
+        try {
+            return valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM, "형식은 csv 또는 ndjson 만 가능합니다");
+        }
+    }
+}
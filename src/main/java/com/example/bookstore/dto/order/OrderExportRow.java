@@ -0,0 +1,20 @@
+package com.example.bookstore.dto.order;
+
+import com.example.bookstore.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// JPQL 생성자 식으로 바로 만든다. 엔티티가 아니므로 영속성 컨텍스트에 쌓이지 않는다
+@Getter
+@AllArgsConstructor
+public class OrderExportRow {
+
+    private Long orderId;
+    private Long userId;
+    private Order.OrderStatus status;
+    private Integer totalAmount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -14,6 +14,9 @@ import java.util.List;
 public class MyReviewsResponse {
 
     private Long userId;
+    // 전체 리뷰 수 (reviews 는 한 페이지)
     private Integer reviewCount;
     private List<ReviewResponse> reviews;
+    private boolean hasNext;
+    private String nextCursor;
 }
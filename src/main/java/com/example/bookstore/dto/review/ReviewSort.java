@@ -0,0 +1,23 @@
+package com.example.bookstore.dto.review;
+
+import com.example.bookstore.exception.BusinessException;
+import com.example.bookstore.exception.ErrorCode;
+
+/**
+ * 리뷰 목록 정렬. 모두 ID 를 마지막 정렬 키로 써서 순서가 안정적이다.
+ * NEWEST: createdAt DESC, id DESC / RATING: rating DESC, createdAt DESC, id DESC
+ */
+public enum ReviewSort {
+    NEWEST, RATING;
+
+    public static ReviewSort from(String value) {
+        if (value == null || value.isEmpty()) {
+            return NEWEST;
+        }
+        try {
+            return valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM, "정렬은 newest 또는 rating 만 가능합니다");
+        }
+    }
+}
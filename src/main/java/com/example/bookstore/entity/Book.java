@@ -5,9 +5,12 @@ import lombok.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_books_created_at_id", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -49,7 +52,8 @@ public class Book {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // 커서 페이지네이션의 등호 비교를 위해 DB 컬럼 정밀도(마이크로초)에 맞춘다
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         if (deleted == null) {
             deleted = false;
         }
@@ -0,0 +1,38 @@
+package com.example.bookstore.entity;
+
+import com.example.bookstore.ranking.RankingType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 판매 순위 점수 스냅샷. 메모리의 점수를 주기적으로 통째로 덮어쓰고, 재시작 시 scoredAt 이후 흐른 시간만큼 줄여서 되살린다.
+ */
+@Entity
+@Table(name = "book_rank_scores", uniqueConstraints = @UniqueConstraint(
+        name = "uk_book_rank_scores_type_book", columnNames = {"ranking", "book_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookRankScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RankingType ranking;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(nullable = false)
+    private LocalDateTime scoredAt;
+}
@@ -0,0 +1,77 @@
+package com.example.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 도서별 평점 집계 (books 와 1:1, book_id 를 PK 로 공유).
+ * 리뷰 작성/수정/삭제 시 증분으로 갱신하고, BookRatingReconciler 가 주기적으로 리뷰 테이블과 맞춘다.
+ * 리뷰가 자주 바뀌어도 books 행을 잠그지 않도록 별도 테이블로 둔다.
+ */
+@Entity
+@Table(name = "book_rating_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookRatingStats {
+
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+
+    @Column(nullable = false)
+    private Long ratingSum;
+
+    @Column(nullable = false)
+    private Long ratingCount;
+
+    @Column(nullable = false)
+    private Long star1;
+
+    @Column(nullable = false)
+    private Long star2;
+
+    @Column(nullable = false)
+    private Long star3;
+
+    @Column(nullable = false)
+    private Long star4;
+
+    @Column(nullable = false)
+    private Long star5;
+
+    private LocalDateTime updatedAt;
+
+    public static BookRatingStats empty(Long bookId) {
+        return BookRatingStats.builder()
+                .bookId(bookId)
+                .ratingSum(0L)
+                .ratingCount(0L)
+                .star1(0L)
+                .star2(0L)
+                .star3(0L)
+                .star4(0L)
+                .star5(0L)
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    public double getAverageRating() {
+        return ratingCount > 0 ? (double) ratingSum / ratingCount : 0.0;
+    }
+
+    public long[] getHistogram() {
+        return new long[]{star1, star2, star3, star4, star5};
+    }
+
+    public boolean sameCounts(BookRatingStats other) {
+        return ratingSum.equals(other.ratingSum)
+                && ratingCount.equals(other.ratingCount)
+                && Arrays.equals(getHistogram(), other.getHistogram());
+    }
+}
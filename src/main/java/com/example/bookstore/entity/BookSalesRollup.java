@@ -0,0 +1,41 @@
+package com.example.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 도서별 판매 집계. (단위, 구간 시작, 도서)마다 한 행이며 취소되지 않은 주문의 수량과 금액만 담는다.
+ * 도서는 id로만 들고 있어 집계 조회에 books 조인이 없다.
+ */
+@Entity
+@Table(name = "book_sales_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_book_sales_rollups_bucket", columnNames = {"granularity", "bucket_start", "book_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookSalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private SalesRollup.Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(nullable = false)
+    private Long units;
+
+    @Column(nullable = false)
+    private Long revenue;
+}
@@ -8,7 +8,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "carts")
+// 사용자당 장바구니 하나. 기존 DB는 docs/migrations/cart_unique_keys.sql로 중복을 합친 뒤 키를 만든다
+@Table(name = "carts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_carts_user", columnNames = {"user_id"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -6,7 +6,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "cart_items")
+// 삭제된 항목도 같은 행을 되살려 쓰므로 (cart, book) 조합은 행 하나뿐이다
+@Table(name = "cart_items", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_cart_items_cart_book", columnNames = {"cart_id", "book_id"})
+})
 @Getter
 @Setter
 @NoArgsConstructor
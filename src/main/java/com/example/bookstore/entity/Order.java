@@ -5,7 +5,9 @@ import lombok.*;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "orders")
@@ -40,6 +42,11 @@ public class Order {
 
     private LocalDateTime updatedAt;
 
+    // 동시 수정 감지. 상태 변경 UPDATE 문도 함께 올린다
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -54,6 +61,26 @@ public class Order {
     }
 
     public enum OrderStatus {
-        CREATED, SHIPPED, DELIVERED, CANCELLED
+        CREATED, SHIPPED, DELIVERED, CANCELLED;
+
+        // CREATED → SHIPPED → DELIVERED, 배송 전(CREATED)에만 CANCELLED. DELIVERED, CANCELLED는 최종 상태
+        public boolean canTransitionTo(OrderStatus next) {
+            return switch (this) {
+                case CREATED -> next == SHIPPED || next == CANCELLED;
+                case SHIPPED -> next == DELIVERED;
+                case DELIVERED, CANCELLED -> false;
+            };
+        }
+
+        // 이 상태로 바뀔 수 있는 이전 상태들
+        public Set<OrderStatus> allowedSources() {
+            Set<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+            for (OrderStatus status : values()) {
+                if (status.canTransitionTo(this)) {
+                    sources.add(status);
+                }
+            }
+            return sources;
+        }
     }
 }
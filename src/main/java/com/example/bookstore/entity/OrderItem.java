@@ -12,8 +12,11 @@ import lombok.*;
 @Builder
 public class OrderItem {
 
+    // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC 배치가 꺼지므로 pooled 시퀀스로 id를 미리 할당
+    // (시퀀스가 없는 MySQL에서는 Hibernate가 order_items_seq 테이블로 대신한다)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -4,9 +4,14 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_book_created", columnList = "book_id, created_at, id"),
+        @Index(name = "idx_reviews_book_rating", columnList = "book_id, rating, created_at, id"),
+        @Index(name = "idx_reviews_user_created", columnList = "user_id, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,7 +47,8 @@ public class Review {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // 커서 페이지네이션의 등호 비교를 위해 DB 컬럼 정밀도(마이크로초)에 맞춘다
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
         if (deleted == null) {
             deleted = false;
         }
@@ -0,0 +1,49 @@
+package com.example.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 매출 집계. (단위, 구간 시작, 주문 상태)마다 한 행이며 주문은 생성 시각의 구간에 현재 상태로 들어간다.
+ * 주문 생성/상태 변경 시 증분 upsert로 갱신하고, SalesRollupBackfill이 주문 테이블 기준으로 다시 만든다.
+ */
+@Entity
+@Table(name = "sales_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_sales_rollups_bucket", columnNames = {"granularity", "bucket_start", "status"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Order.OrderStatus status;
+
+    @Column(nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private Long revenue;
+
+    @Column(nullable = false)
+    private Long units;
+
+    public enum Granularity {
+        HOUR, DAY
+    }
+}
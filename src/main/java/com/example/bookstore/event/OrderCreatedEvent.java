@@ -0,0 +1,11 @@
+package com.example.bookstore.event;
+
+import java.util.Map;
+
+/**
+ * 주문 생성 이벤트. 커밋 후에만 처리하도록 @TransactionalEventListener(AFTER_COMMIT)로 받는다.
+ *
+ * @param quantities 도서 id → 주문 수량
+ */
+public record OrderCreatedEvent(Long orderId, Map<Long, Integer> quantities) {
+}
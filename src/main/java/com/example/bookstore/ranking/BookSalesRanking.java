@@ -0,0 +1,117 @@
+package com.example.bookstore.ranking;
+
+import com.example.bookstore.entity.BookRankScore;
+import com.example.bookstore.event.OrderCreatedEvent;
+import com.example.bookstore.repository.BookRankScoreRepository;
+import com.example.bookstore.search.ScoredHit;
+import com.example.bookstore.search.TopKCollector;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 베스트셀러/급상승 순위. 주문 이벤트로 도서별 감쇠 점수를 메모리에서 올리고,
+ * refresh-interval 마다 상위 top-size 권을 정렬해 두어 요청은 그 목록만 읽는다.
+ * 점수는 snapshot-interval 마다 DB에 저장해 재시작해도 이어 간다 (그 사이 주문은 유실될 수 있다).
+ *
+ * 단일 인스턴스 전용이다. 점수는 자기 인스턴스가 받은 주문만 세고 스냅샷은 테이블 전체를 교체하므로,
+ * 여러 인스턴스로 띄우면 인스턴스마다 순위가 다르고 마지막에 저장한 인스턴스의 점수만 남는다.
+ */
+@Slf4j
+@Component
+public class BookSalesRanking {
+
+    private final BookRankScoreRepository bookRankScoreRepository;
+    private final int topSize;
+    private final Map<RankingType, DecayingCounter> counters = new EnumMap<>(RankingType.class);
+
+    private volatile Map<RankingType, List<ScoredHit>> top = Map.of();
+
+    public BookSalesRanking(BookRankScoreRepository bookRankScoreRepository,
+                            @Value("${ranking.bestseller.half-life:72h}") Duration bestsellerHalfLife,
+                            @Value("${ranking.trending.half-life:6h}") Duration trendingHalfLife,
+                            @Value("${ranking.top-size:100}") int topSize) {
+        this.bookRankScoreRepository = bookRankScoreRepository;
+        this.topSize = topSize;
+        long now = System.currentTimeMillis();
+        counters.put(RankingType.BESTSELLER, new DecayingCounter(bestsellerHalfLife, now));
+        counters.put(RankingType.TRENDING, new DecayingCounter(trendingHalfLife, now));
+    }
+
+    // 롤백된 주문은 세지 않도록 커밋 후에만
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        long now = System.currentTimeMillis();
+        event.quantities().forEach((bookId, quantity) ->
+                counters.values().forEach(counter -> counter.add(bookId, quantity, now)));
+    }
+
+    // 점수와 정렬된 목록을 모두 비운다 (DB 스냅샷은 다음 저장 때 교체됨)
+    public void clear() {
+        counters.values().forEach(DecayingCounter::clear);
+        top = Map.of();
+    }
+
+    // 점수 내림차순 상위 목록 (최대 top-size). 마지막 refresh 시점 기준
+    public List<ScoredHit> top(RankingType type) {
+        return top.getOrDefault(type, List.of());
+    }
+
+    @Scheduled(fixedDelayString = "${ranking.refresh-interval:5000}")
+    public void refresh() {
+        long now = System.currentTimeMillis();
+        Map<RankingType, List<ScoredHit>> refreshed = new EnumMap<>(RankingType.class);
+        counters.forEach((type, counter) -> {
+            TopKCollector collector = new TopKCollector(topSize);
+            counter.decayTo(now).forEach((bookId, score) -> collector.offer(new ScoredHit(bookId, score)));
+            refreshed.put(type, collector.toSortedList());
+        });
+        top = refreshed;
+    }
+
+    @Scheduled(fixedDelayString = "${ranking.snapshot-interval:60000}", initialDelayString = "${ranking.snapshot-interval:60000}")
+    public void saveSnapshot() {
+        long now = System.currentTimeMillis();
+        LocalDateTime scoredAt = toLocalDateTime(now);
+        List<BookRankScore> scores = new ArrayList<>();
+        counters.forEach((type, counter) -> counter.decayTo(now).forEach((bookId, score) ->
+                scores.add(BookRankScore.builder()
+                        .ranking(type)
+                        .bookId(bookId)
+                        .score(score)
+                        .scoredAt(scoredAt)
+                        .build())));
+        bookRankScoreRepository.replaceAll(scores);
+        log.debug("Book rank scores saved: {} rows", scores.size());
+    }
+
+    // 마지막 스냅샷을 저장 시각 기준으로 다시 더하면 꺼져 있던 시간만큼 줄어든 값이 된다
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        List<BookRankScore> scores = bookRankScoreRepository.findAll();
+        for (BookRankScore score : scores) {
+            long scoredAt = score.getScoredAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            counters.get(score.getRanking()).add(score.getBookId(), score.getScore(), scoredAt);
+        }
+        refresh();
+        log.info("Book rank scores restored: {} rows", scores.size());
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
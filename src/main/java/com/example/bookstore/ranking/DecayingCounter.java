@@ -0,0 +1,45 @@
+package com.example.bookstore.ranking;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 반감기만큼 시간이 지나면 절반으로 줄어드는 키별 점수.
+ * 점수는 기준 시각 값으로 저장하고, 나중에 더하는 값을 2^((t - 기준)/반감기)배로 키워 넣으므로
+ * 더할 때 다른 키를 건드리지 않는다. decayTo 가 기준 시각을 현재로 옮기며 값을 줄인다.
+ */
+public class DecayingCounter {
+
+    // 이보다 작아진 점수는 버린다 (한 번 팔린 도서는 반감기의 약 7배 뒤 사라짐)
+    static final double MIN_SCORE = 0.01;
+
+    private final double halfLifeMillis;
+    private final Map<Long, Double> scores = new HashMap<>();
+    private long baseTime;
+
+    public DecayingCounter(Duration halfLife, long now) {
+        this.halfLifeMillis = halfLife.toMillis();
+        this.baseTime = now;
+    }
+
+    // at 시각에 amount 만큼 더한다 (at 이 과거면 그만큼 줄어든 값으로 더해진다)
+    public synchronized void add(Long key, double amount, long at) {
+        scores.merge(key, amount * Math.pow(2, (at - baseTime) / halfLifeMillis), Double::sum);
+    }
+
+    public synchronized void clear() {
+        scores.clear();
+    }
+
+    /**
+     * 기준 시각을 now 로 옮기고 now 기준 점수를 돌려준다.
+     */
+    public synchronized Map<Long, Double> decayTo(long now) {
+        double factor = Math.pow(2, -(now - baseTime) / halfLifeMillis);
+        scores.replaceAll((key, score) -> score * factor);
+        scores.values().removeIf(score -> score < MIN_SCORE);
+        baseTime = now;
+        return Map.copyOf(scores);
+    }
+}
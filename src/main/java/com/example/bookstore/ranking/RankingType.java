@@ -0,0 +1,10 @@
+package com.example.bookstore.ranking;
+
+/**
+ * 판매 순위 종류. 둘 다 같은 주문 이벤트를 세고 반감기만 다르다.
+ * BESTSELLER: 며칠 단위로 천천히 식는 점수 (이번 주 베스트셀러)
+ * TRENDING: 몇 시간 단위로 빠르게 식는 점수 (지금 뜨는 도서)
+ */
+public enum RankingType {
+    BESTSELLER, TRENDING
+}
@@ -0,0 +1,126 @@
+package com.example.bookstore.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 인스턴스 메모리에 두는 키(IP 등)별 토큰 버킷. 단일 인스턴스 배포의 기본 저장소.
+ *
+ * 버킷 상태는 GCRA 방식으로 "다음 토큰이 비는 시각(TAT)" 하나의 AtomicLong으로 표현하고 CAS로만 갱신한다.
+ * TAT가 현재 시각 이전이면 버킷이 가득 찬 것과 같으므로 그런 키는 지워도 동작이 바뀌지 않는다.
+ * 이를 이용해 주기적으로 유휴 키를 정리한다. 키 수가 maxKeys에 닿으면 전체 정리는 초당 한 번까지만 하고,
+ * 그래도 가득 차 있으면 몇 개를 표본으로 골라 TAT가 가장 이른(가장 오래 쉬었거나 가장 덜 쓴) 키를 내보낸다.
+ * 내보낸 키는 다음 요청 때 가득 찬 버킷으로 다시 시작하므로, 키 수를 넘는 공격 중에는 한도가 느슨해질 수 있다.
+ */
+@Slf4j
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private static final long SWEEP_INTERVAL_NANOS = 10_000_000_000L;
+    private static final long FULL_SWEEP_INTERVAL_NANOS = 1_000_000_000L;
+    static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final AtomicLong lastSweep;
+    private final AtomicLong lastFullSweep;
+
+    public InMemoryRateLimitStore(int maxKeys) {
+        this(maxKeys, System::nanoTime);
+    }
+
+    InMemoryRateLimitStore(int maxKeys, LongSupplier clock) {
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.lastSweep = new AtomicLong(clock.getAsLong());
+        this.lastFullSweep = new AtomicLong(clock.getAsLong() - FULL_SWEEP_INTERVAL_NANOS);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimit limit) {
+        long now = clock.getAsLong();
+        sweepIfDue(now);
+
+        AtomicLong tat = bucketFor(key, now);
+        long interval = limit.emissionIntervalNanos();
+        long tolerance = limit.burstToleranceNanos();
+
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, now);
+
+            if (base - now > tolerance) {
+                long retryAfterNanos = base - now - tolerance;
+                return new RateLimitDecision(false, limit.capacity(), 0, ceilMillis(retryAfterNanos));
+            }
+
+            long next = base + interval;
+            if (tat.compareAndSet(current, next)) {
+                long remaining = Math.floorDiv(tolerance - (next - now), interval) + 1;
+                return new RateLimitDecision(true, limit.capacity(), Math.max(0, remaining), 0);
+            }
+        }
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            // 새 키마다 전체를 훑지 않도록 가득 찼을 때의 전체 정리도 간격을 둔다
+            if (claim(lastFullSweep, now, FULL_SWEEP_INTERVAL_NANOS)) {
+                sweep(now);
+            }
+            if (buckets.size() >= maxKeys) {
+                evictSampled();
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    private void sweepIfDue(long now) {
+        if (claim(lastSweep, now, SWEEP_INTERVAL_NANOS)) {
+            sweep(now);
+        }
+    }
+
+    private static boolean claim(AtomicLong last, long now, long interval) {
+        long previous = last.get();
+        return now - previous >= interval && last.compareAndSet(previous, now);
+    }
+
+    // 앞쪽 몇 개만 보고 TAT가 가장 이른 키 하나를 제거 (O(표본 수))
+    private void evictSampled() {
+        Map.Entry<String, AtomicLong> victim = null;
+        int sampled = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            if (victim == null || entry.getValue().get() < victim.getValue().get()) {
+                victim = entry;
+            }
+            if (++sampled >= EVICTION_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        if (victim != null && buckets.remove(victim.getKey(), victim.getValue())) {
+            log.debug("Rate limit key table full ({}), evicted {}", maxKeys, victim.getKey());
+        }
+    }
+
+    // 버킷이 다시 가득 찬(TAT <= now) 키 제거
+    private void sweep(long now) {
+        buckets.values().removeIf(tat -> tat.get() <= now);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private static long ceilMillis(long nanos) {
+        return (nanos + 999_999) / 1_000_000;
+    }
+}
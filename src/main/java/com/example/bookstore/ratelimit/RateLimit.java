@@ -0,0 +1,31 @@
+package com.example.bookstore.ratelimit;
+
+/**
+ * 토큰 버킷 한도. capacity만큼 연속 요청(burst)을 허용하고 refillPerMinute 속도로 다시 채운다.
+ */
+public record RateLimit(long capacity, long refillPerMinute) {
+
+    public RateLimit {
+        if (capacity < 1 || refillPerMinute < 1) {
+            throw new IllegalArgumentException("capacity와 refillPerMinute는 1 이상이어야 합니다");
+        }
+    }
+
+    // 토큰 1개가 채워지는 간격 (ns)
+    long emissionIntervalNanos() {
+        return 60_000_000_000L / refillPerMinute;
+    }
+
+    // 버킷이 가득 찬 상태에서 허용되는 최대 선행량 (ns)
+    long burstToleranceNanos() {
+        return emissionIntervalNanos() * (capacity - 1);
+    }
+
+    long emissionIntervalMicros() {
+        return emissionIntervalNanos() / 1_000;
+    }
+
+    long burstToleranceMicros() {
+        return burstToleranceNanos() / 1_000;
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.bookstore.ratelimit;
+
+public record RateLimitDecision(boolean allowed, long limit, long remaining, long retryAfterMillis) {
+}
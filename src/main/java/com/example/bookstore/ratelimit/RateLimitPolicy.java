@@ -0,0 +1,14 @@
+package com.example.bookstore.ratelimit;
+
+/**
+ * 경로 패턴 + HTTP 메서드별 한도와 버킷을 나누는 기준(key).
+ * method가 null이면 모든 메서드에 적용된다.
+ */
+public record RateLimitPolicy(String name, String method, String pattern, RateLimit limit, KeyType keyType) {
+
+    public enum KeyType {
+        IP,         // 클라이언트 IP
+        USER,       // 인증된 사용자 id (비로그인 요청은 IP)
+        API_KEY     // X-API-Key 헤더 (없으면 IP)
+    }
+}
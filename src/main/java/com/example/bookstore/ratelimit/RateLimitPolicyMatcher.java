@@ -0,0 +1,96 @@
+package com.example.bookstore.ratelimit;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 정책 경로 패턴을 세그먼트 트리로 미리 컴파일해 둔 매처.
+ * 요청마다 정책 목록을 순회하지 않고 URI 세그먼트 수만큼만 탐색한다.
+ *
+ * 지원 패턴: 리터럴 세그먼트, 한 세그먼트 와일드카드 "*", 마지막 위치의 "**"(나머지 전부).
+ * 우선순위: 메서드 지정 정책 > 메서드 무관 정책, 같은 트리 안에서는 리터럴 > "*" > "**".
+ */
+public class RateLimitPolicyMatcher {
+
+    private final Map<String, Node> byMethod = new HashMap<>();
+    private final Node anyMethod = new Node();
+
+    public RateLimitPolicyMatcher(List<RateLimitPolicy> policies) {
+        for (RateLimitPolicy policy : policies) {
+            Node root = policy.method() == null
+                    ? anyMethod
+                    : byMethod.computeIfAbsent(policy.method().toUpperCase(), m -> new Node());
+            root.insert(split(policy.pattern()), 0, policy);
+        }
+    }
+
+    public RateLimitPolicy match(String method, String uri) {
+        String[] segments = split(uri);
+        Node root = byMethod.get(method);
+        if (root != null) {
+            RateLimitPolicy policy = root.find(segments, 0);
+            if (policy != null) {
+                return policy;
+            }
+        }
+        return anyMethod.find(segments, 0);
+    }
+
+    private static String[] split(String path) {
+        String trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+
+    private static class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        private Node wildcard;
+        private RateLimitPolicy exact;
+        private RateLimitPolicy rest;
+
+        void insert(String[] segments, int index, RateLimitPolicy policy) {
+            if (index == segments.length) {
+                if (exact == null) {
+                    exact = policy;
+                }
+                return;
+            }
+            String segment = segments[index];
+            if (segment.equals("**")) {
+                if (rest == null) {
+                    rest = policy;
+                }
+            } else if (segment.equals("*")) {
+                if (wildcard == null) {
+                    wildcard = new Node();
+                }
+                wildcard.insert(segments, index + 1, policy);
+            } else {
+                literals.computeIfAbsent(segment, s -> new Node()).insert(segments, index + 1, policy);
+            }
+        }
+
+        RateLimitPolicy find(String[] segments, int index) {
+            if (index == segments.length) {
+                return exact != null ? exact : rest;
+            }
+            Node literal = literals.get(segments[index]);
+            if (literal != null) {
+                RateLimitPolicy policy = literal.find(segments, index + 1);
+                if (policy != null) {
+                    return policy;
+                }
+            }
+            if (wildcard != null) {
+                RateLimitPolicy policy = wildcard.find(segments, index + 1);
+                if (policy != null) {
+                    return policy;
+                }
+            }
+            return rest;
+        }
+    }
+}
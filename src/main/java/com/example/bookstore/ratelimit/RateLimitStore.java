@@ -0,0 +1,9 @@
+package com.example.bookstore.ratelimit;
+
+/**
+ * 토큰 버킷 상태 저장소. 키마다 한도 안이면 토큰 1개를 소비하고 결과를 돌려준다.
+ */
+public interface RateLimitStore {
+
+    RateLimitDecision tryAcquire(String key, RateLimit limit);
+}
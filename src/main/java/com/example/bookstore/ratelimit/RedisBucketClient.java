@@ -0,0 +1,16 @@
+package com.example.bookstore.ratelimit;
+
+/**
+ * 공유 저장소(Redis)의 GCRA 버킷에 대한 원자적 연산.
+ * 테스트에서는 외부 서비스 없이 메모리 구현으로 대체할 수 있다.
+ */
+public interface RedisBucketClient {
+
+    /**
+     * permits개를 소비(0이면 조회만)하고 갱신된 TAT와 서버 현재 시각을 돌려준다. 단위는 모두 마이크로초.
+     */
+    BucketState consume(String key, long permits, long intervalMicros);
+
+    record BucketState(long tatMicros, long nowMicros) {
+    }
+}
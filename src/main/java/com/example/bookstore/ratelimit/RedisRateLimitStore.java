@@ -0,0 +1,182 @@
+package com.example.bookstore.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 여러 인스턴스가 Redis의 버킷을 공유하는 저장소.
+ *
+ * 요청마다 Redis를 왕복하지 않도록 인스턴스마다 마지막으로 동기화한 TAT를 들고 있다가
+ * 로컬에서 판단하고, 소비한 토큰 수(pending)를 모아 flush 주기마다 한 번의 스크립트 호출로 반영한다.
+ * 처음 보는 키만 동기적으로 한 번 조회한다.
+ *
+ * 동기화 사이에는 다른 인스턴스의 소비를 모르므로 최대 (인스턴스 수 x batchSize)만큼 한도를 넘을 수 있다.
+ * Redis 장애 시에는 로컬 판단만으로 동작한다 (fail-open).
+ */
+@Slf4j
+public class RedisRateLimitStore implements RateLimitStore, AutoCloseable {
+
+    private final Map<String, LocalBucket> buckets = new ConcurrentHashMap<>();
+    private final RedisBucketClient client;
+    private final int batchSize;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService flusher;
+
+    public RedisRateLimitStore(RedisBucketClient client, int batchSize, long flushIntervalMillis) {
+        this(client, batchSize, () -> System.nanoTime() / 1_000, Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "rate-limit-flusher");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 테스트용: flusher 없이 flush()를 직접 호출
+    RedisRateLimitStore(RedisBucketClient client, int batchSize, LongSupplier clockMicros) {
+        this(client, batchSize, clockMicros, null);
+    }
+
+    private RedisRateLimitStore(RedisBucketClient client, int batchSize, LongSupplier clockMicros,
+                                ScheduledExecutorService flusher) {
+        this.client = client;
+        this.batchSize = batchSize;
+        this.clock = clockMicros;
+        this.flusher = flusher;
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimit limit) {
+        LocalBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            LocalBucket created = new LocalBucket(limit);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+                sync(key, bucket);
+            }
+        }
+
+        RateLimitDecision decision = bucket.tryAcquire(clock.getAsLong());
+        if (decision.allowed() && bucket.claimBatchSync(batchSize)) {
+            if (flusher != null) {
+                LocalBucket target = bucket;
+                flusher.execute(() -> sync(key, target));
+            } else {
+                sync(key, bucket);
+            }
+        }
+        return decision;
+    }
+
+    // 모아 둔 소비량을 Redis에 반영하고, 그 사이 사용되지 않은 키는 로컬에서 정리
+    public void flush() {
+        Iterator<Map.Entry<String, LocalBucket>> it = buckets.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, LocalBucket> entry = it.next();
+            LocalBucket bucket = entry.getValue();
+            if (bucket.isIdle(clock.getAsLong())) {
+                it.remove();
+            } else if (bucket.needsSync()) {
+                sync(entry.getKey(), bucket);
+            }
+        }
+    }
+
+    private void sync(String key, LocalBucket bucket) {
+        long permits = bucket.beginSync();
+        try {
+            RedisBucketClient.BucketState state = client.consume(key, permits, bucket.limit.emissionIntervalMicros());
+            bucket.completeSync(permits, state, clock.getAsLong());
+        } catch (RuntimeException e) {
+            log.warn("Rate limit sync failed for {}: {}", key, e.getMessage());
+            bucket.failSync(permits);
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+            flush();
+        }
+    }
+
+    private static class LocalBucket {
+        private final RateLimit limit;
+
+        private long syncedTat;     // 마지막 동기화 시점의 Redis TAT (서버 시각 기준)
+        private long clockOffset;   // 서버 시각 - 로컬 시각
+        private long pending;       // 아직 보내지 않은 소비량
+        private long inFlight;      // 전송 중인 소비량
+        private boolean touched;    // 마지막 flush 이후 요청이 있었는지
+        private boolean syncClaimed; // batchSize 도달로 동기화를 이미 예약했는지 (beginSync에서 해제)
+
+        LocalBucket(RateLimit limit) {
+            this.limit = limit;
+        }
+
+        synchronized RateLimitDecision tryAcquire(long localNow) {
+            touched = true;
+            long now = localNow + clockOffset;
+            long interval = limit.emissionIntervalMicros();
+            long tolerance = limit.burstToleranceMicros();
+            long base = Math.max(syncedTat, now) + (pending + inFlight) * interval;
+
+            if (base - now > tolerance) {
+                return new RateLimitDecision(false, limit.capacity(), 0, (base - now - tolerance + 999) / 1_000);
+            }
+
+            pending++;
+            long remaining = Math.floorDiv(tolerance - (base + interval - now), interval) + 1;
+            return new RateLimitDecision(true, limit.capacity(), Math.max(0, remaining), 0);
+        }
+
+        // pending이 batchSize 이상이면 한 요청만 동기화를 예약하도록 확인과 표시를 한 번에 한다
+        synchronized boolean claimBatchSync(int batchSize) {
+            if (syncClaimed || pending < batchSize) {
+                return false;
+            }
+            syncClaimed = true;
+            return true;
+        }
+
+        synchronized boolean needsSync() {
+            return pending > 0 || touched;
+        }
+
+        synchronized boolean isIdle(long localNow) {
+            return !touched && pending == 0 && inFlight == 0 && syncedTat <= localNow + clockOffset;
+        }
+
+        synchronized long beginSync() {
+            long permits = pending;
+            pending = 0;
+            inFlight += permits;
+            touched = false;
+            syncClaimed = false;
+            return permits;
+        }
+
+        synchronized void completeSync(long permits, RedisBucketClient.BucketState state, long localNow) {
+            inFlight -= permits;
+            syncedTat = state.tatMicros();
+            clockOffset = state.nowMicros() - localNow;
+        }
+
+        synchronized void failSync(long permits) {
+            inFlight -= permits;
+            pending += permits;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.bookstore.ratelimit;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Lua 스크립트 하나로 GCRA 버킷을 갱신한다 (조회 + 소비 + TTL 설정이 원자적).
+ * 시각은 Redis TIME을 쓰므로 인스턴스 간 시계 차이에 영향을 받지 않는다.
+ */
+public class ScriptRedisBucketClient implements RedisBucketClient {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> CONSUME_SCRIPT = new DefaultRedisScript<>("""
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000000 + tonumber(t[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]))
+            if tat == nil or tat < now then
+                tat = now
+            end
+            tat = tat + tonumber(ARGV[1]) * tonumber(ARGV[2])
+            local ttl = math.floor((tat - now) / 1000) + 1000
+            redis.call('SET', KEYS[1], string.format('%.0f', tat), 'PX', ttl)
+            return {tat, now}
+            """, List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public ScriptRedisBucketClient(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public BucketState consume(String key, long permits, long intervalMicros) {
+        List<?> result = redisTemplate.execute(CONSUME_SCRIPT, List.of(KEY_PREFIX + key),
+                String.valueOf(permits), String.valueOf(intervalMicros));
+        return new BucketState(((Number) result.get(0)).longValue(), ((Number) result.get(1)).longValue());
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.entity.BookRankScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface BookRankScoreRepository extends JpaRepository<BookRankScore, Long> {
+
+    // 스냅샷 교체: 지우고 다시 넣는 것을 한 트랜잭션으로
+    @Transactional
+    default void replaceAll(List<BookRankScore> scores) {
+        deleteAllInBatch();
+        saveAll(scores);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.entity.BookRatingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookRatingStatsRepository extends JpaRepository<BookRatingStats, Long> {
+
+    // 평점 조회용: 삭제되지 않은 도서의 집계를 한 번의 PK 조회로 읽는다
+    @Query("SELECT s FROM BookRatingStats s WHERE s.bookId = :bookId AND " +
+            "EXISTS (SELECT b.id FROM Book b WHERE b.id = s.bookId AND b.deleted = false)")
+    Optional<BookRatingStats> findByActiveBookId(@Param("bookId") Long bookId);
+
+    @Query("SELECT s FROM BookRatingStats s WHERE s.bookId IN :bookIds AND " +
+            "EXISTS (SELECT b.id FROM Book b WHERE b.id = s.bookId AND b.deleted = false)")
+    List<BookRatingStats> findByActiveBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BookRatingStats s WHERE s.bookId = :bookId")
+    Optional<BookRatingStats> findByIdForUpdate(@Param("bookId") Long bookId);
+
+    // 증분 갱신: 읽고 쓰지 않고 한 번의 UPDATE 로 더해 동시 리뷰 변경에도 값이 유실되지 않는다
+    // (영속성 컨텍스트에 남은 옛 집계 엔티티를 읽지 않도록 실행 후 비운다)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BookRatingStats s SET " +
+            "s.ratingSum = s.ratingSum + :sum, s.ratingCount = s.ratingCount + :count, " +
+            "s.star1 = s.star1 + :star1, s.star2 = s.star2 + :star2, s.star3 = s.star3 + :star3, " +
+            "s.star4 = s.star4 + :star4, s.star5 = s.star5 + :star5, s.updatedAt = LOCAL DATETIME " +
+            "WHERE s.bookId = :bookId")
+    int adjust(@Param("bookId") Long bookId,
+               @Param("sum") long sum,
+               @Param("count") long count,
+               @Param("star1") long star1,
+               @Param("star2") long star2,
+               @Param("star3") long star3,
+               @Param("star4") long star4,
+               @Param("star5") long star5);
+
+    // 집계 행이 없는 도서의 첫 변경: 리뷰 테이블에서 계산한 값(방금 변경 포함)으로 행을 만든다.
+    // 동시에 다른 트랜잭션이 먼저 만들었으면 중복 키 오류 대신 증분만 더한다 (adjust 와 같은 값)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO book_rating_stats " +
+            "(book_id, rating_sum, rating_count, star1, star2, star3, star4, star5, updated_at) " +
+            "SELECT * FROM (" +
+            "SELECT b.id AS book_id, COALESCE(SUM(r.rating), 0) AS rating_sum, COUNT(r.id) AS rating_count, " +
+            "COALESCE(SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), 0) AS star1, " +
+            "COALESCE(SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), 0) AS star2, " +
+            "COALESCE(SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), 0) AS star3, " +
+            "COALESCE(SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), 0) AS star4, " +
+            "COALESCE(SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END), 0) AS star5, " +
+            "CURRENT_TIMESTAMP AS updated_at " +
+            "FROM books b LEFT JOIN reviews r ON r.book_id = b.id AND r.deleted = false " +
+            "WHERE b.id = :bookId GROUP BY b.id" +
+            ") AS a " +
+            "ON DUPLICATE KEY UPDATE rating_sum = rating_sum + :sum, rating_count = rating_count + :count, " +
+            "star1 = star1 + :star1, star2 = star2 + :star2, star3 = star3 + :star3, " +
+            "star4 = star4 + :star4, star5 = star5 + :star5, updated_at = CURRENT_TIMESTAMP", nativeQuery = true)
+    int insertFromReviewsOrAdjust(@Param("bookId") Long bookId,
+                                  @Param("sum") long sum,
+                                  @Param("count") long count,
+                                  @Param("star1") long star1,
+                                  @Param("star2") long star2,
+                                  @Param("star3") long star3,
+                                  @Param("star4") long star4,
+                                  @Param("star5") long star5);
+}
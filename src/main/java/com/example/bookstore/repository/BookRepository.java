@@ -8,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +20,8 @@ public interface BookRepository extends JpaRepository<Book, Long> {
 
     Page<Book> findByDeletedFalse(Pageable pageable);
 
+    List<Book> findByIdInAndDeletedFalse(Collection<Long> ids);
+
     @Query("SELECT b FROM Book b WHERE b.deleted = false AND " +
             "(LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
             "LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%')))")
@@ -31,7 +35,39 @@ public interface BookRepository extends JpaRepository<Book, Long> {
             "LOWER(b.publisher) LIKE LOWER(CONCAT('%', :publisher, '%'))")
     Page<Book> findByPublisherContaining(@Param("publisher") String publisher, Pageable pageable);
 
+    // 커서 페이지네이션: (createdAt, id) 내림차순 seek 쿼리, COUNT 없이 size + 1 건만 조회
+    String CURSOR_FILTER = "b.deleted = false AND " +
+            "(:keyword IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+            "(:author IS NULL OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))) AND " +
+            "(:publisher IS NULL OR LOWER(b.publisher) LIKE LOWER(CONCAT('%', :publisher, '%')))";
+
+    @Query("SELECT b FROM Book b WHERE " + CURSOR_FILTER +
+            " ORDER BY b.createdAt DESC, b.id DESC")
+    List<Book> findFirstSlice(@Param("keyword") String keyword,
+                              @Param("author") String author,
+                              @Param("publisher") String publisher,
+                              Pageable pageable);
+
+    @Query("SELECT b FROM Book b WHERE " + CURSOR_FILTER + " AND " +
+            "(b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id))" +
+            " ORDER BY b.createdAt DESC, b.id DESC")
+    List<Book> findSliceAfter(@Param("keyword") String keyword,
+                              @Param("author") String author,
+                              @Param("publisher") String publisher,
+                              @Param("createdAt") LocalDateTime createdAt,
+                              @Param("id") Long id,
+                              Pageable pageable);
+
     boolean existsByIsbn(String isbn);
 
+    boolean existsByIdAndDeletedFalse(Long id);
+
     List<Book> findAllByDeletedFalse();
+
+    @Query("SELECT b.id FROM Book b WHERE b.deleted = false")
+    List<Long> findIdsByDeletedFalse();
+
+    @Query("SELECT b.id FROM Book b WHERE b.id IN :ids AND b.deleted = false")
+    List<Long> findIdsByIdInAndDeletedFalse(@Param("ids") Collection<Long> ids);
 }
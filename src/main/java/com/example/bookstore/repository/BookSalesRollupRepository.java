@@ -0,0 +1,60 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.entity.BookSalesRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BookSalesRollupRepository extends JpaRepository<BookSalesRollup, Long> {
+
+    // 주문 항목을 도서별로 묶어 시간/일 구간에 한 번에 더한다 (sign = -1 이면 뺀다).
+    // 방금 저장한 주문 항목을 읽어야 하므로 먼저 flush
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO book_sales_rollups (granularity, bucket_start, book_id, units, revenue) " +
+            "SELECT * FROM (" +
+            "SELECT 'HOUR' AS granularity, CAST(:hour AS DATETIME) AS bucket_start, i.book_id AS book_id, " +
+            ":sign * SUM(i.quantity) AS units, :sign * SUM(i.price) AS revenue " +
+            "FROM order_items i WHERE i.order_id = :orderId GROUP BY i.book_id " +
+            "UNION ALL " +
+            "SELECT 'DAY', CAST(:day AS DATETIME), i.book_id, :sign * SUM(i.quantity), :sign * SUM(i.price) " +
+            "FROM order_items i WHERE i.order_id = :orderId GROUP BY i.book_id" +
+            ") AS d " +
+            "ON DUPLICATE KEY UPDATE units = units + VALUES(units), revenue = revenue + VALUES(revenue)", nativeQuery = true)
+    int addOrderItems(@Param("orderId") Long orderId,
+                      @Param("hour") LocalDateTime hour,
+                      @Param("day") LocalDateTime day,
+                      @Param("sign") long sign);
+
+    // SalesRollupRepository.sumByStatus 와 같은 구간 분할
+    @Query("SELECT r.bookId AS bookId, SUM(r.units) AS units, SUM(r.revenue) AS revenue " +
+            "FROM BookSalesRollup r WHERE " +
+            "(r.granularity = HOUR AND r.bucketStart >= :from AND r.bucketStart < :dayFrom) OR " +
+            "(r.granularity = DAY AND r.bucketStart >= :dayFrom AND r.bucketStart < :dayTo) OR " +
+            "(r.granularity = HOUR AND r.bucketStart >= :dayTo AND r.bucketStart < :to) " +
+            "GROUP BY r.bookId HAVING SUM(r.units) > 0 " +
+            "ORDER BY SUM(r.units) DESC, r.bookId")
+    List<BookTotal> sumByBook(@Param("from") LocalDateTime from,
+                              @Param("dayFrom") LocalDateTime dayFrom,
+                              @Param("dayTo") LocalDateTime dayTo,
+                              @Param("to") LocalDateTime to,
+                              Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM BookSalesRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteByBucketStartRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface BookTotal {
+        Long getBookId();
+
+        Long getUnits();
+
+        Long getRevenue();
+    }
+}
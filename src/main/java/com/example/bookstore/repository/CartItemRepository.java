@@ -4,8 +4,12 @@ import com.example.bookstore.entity.Book;
 import com.example.bookstore.entity.Cart;
 import com.example.bookstore.entity.CartItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,7 +18,41 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
 
     List<CartItem> findByCartAndDeletedFalse(Cart cart);
 
+    List<CartItem> findByCartIdAndDeletedFalse(Long cartId);
+
+    // 삭제된 행 포함
+    List<CartItem> findByCartId(Long cartId);
+
+    // 장바구니 행을 먼저 읽지 않고 사용자 id로 바로 항목을 조회
+    List<CartItem> findByCartUserIdAndDeletedFalse(Long userId);
+
     Optional<CartItem> findByCartAndBookAndDeletedFalse(Cart cart, Book book);
 
     Optional<CartItem> findByIdAndDeletedFalse(Long id);
+
+    /**
+     * 장바구니에 도서를 담는 원자적 upsert. 살아 있는 항목이면 수량을 더하고, 삭제된 항목이면 요청 수량으로 되살린다.
+     * 삭제되지 않은 도서일 때만 행이 만들어지므로 0을 돌려주면 도서가 없는 것이다 (MySQL 기준 INSERT 1, UPDATE 2).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO cart_items (cart_id, book_id, quantity, deleted, created_at) " +
+            "SELECT :cartId, b.id, :quantity, false, CURRENT_TIMESTAMP FROM books b " +
+            "WHERE b.id = :bookId AND b.deleted = false " +
+            "ON DUPLICATE KEY UPDATE " +
+            "quantity = CASE WHEN deleted THEN VALUES(quantity) ELSE quantity + VALUES(quantity) END, " +
+            "deleted = false, updated_at = CURRENT_TIMESTAMP", nativeQuery = true)
+    int upsertQuantity(@Param("cartId") Long cartId,
+                       @Param("bookId") Long bookId,
+                       @Param("quantity") int quantity);
+
+    // 주문 전환용: 도서까지 한 번에 읽는다 (삭제된 도서도 포함해 호출 측에서 검증)
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.book " +
+            "WHERE ci.cart.user.id = :userId AND ci.deleted = false ORDER BY ci.id")
+    List<CartItem> findForCheckout(@Param("userId") Long userId);
+
+    // 아직 삭제되지 않은 항목만 지우므로 반환값으로 동시 결제 여부를 알 수 있다
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CartItem ci SET ci.deleted = true, ci.updatedAt = LOCAL DATETIME " +
+            "WHERE ci.id IN :ids AND ci.deleted = false")
+    int softDeleteByIdIn(@Param("ids") Collection<Long> ids);
 }
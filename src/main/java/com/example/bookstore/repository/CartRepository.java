@@ -2,7 +2,12 @@ package com.example.bookstore.repository;
 
 import com.example.bookstore.entity.Cart;
 import com.example.bookstore.entity.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -13,4 +18,30 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUser(User user);
 
     Optional<Cart> findByUserId(Long userId);
+
+    @Query("SELECT c.id FROM Cart c WHERE c.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    // 잠금 조회는 MySQL REPEATABLE READ에서도 다른 트랜잭션이 방금 커밋한 장바구니를 본다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.user.id = :userId")
+    Optional<Cart> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    // write-behind flush가 장바구니 단위로 줄을 서도록 잡는 행 잠금 (커밋까지 유지)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.id = :cartId")
+    Optional<Cart> findByIdForUpdate(@Param("cartId") Long cartId);
+
+    // 동시에 처음 담는 요청이 와도 user_id 유니크 키 덕분에 장바구니는 하나만 생긴다
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO carts (user_id, created_at) VALUES (:userId, CURRENT_TIMESTAMP) " +
+            "ON DUPLICATE KEY UPDATE user_id = user_id", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
+
+    default Long findOrCreateIdByUserId(Long userId) {
+        return findIdByUserId(userId).orElseGet(() -> {
+            insertIfAbsent(userId);
+            return findByUserIdForUpdate(userId).map(Cart::getId).orElseThrow();
+        });
+    }
 }
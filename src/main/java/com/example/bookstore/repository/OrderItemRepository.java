@@ -1,13 +1,46 @@
 package com.example.bookstore.repository;
 
+import com.example.bookstore.entity.Order;
 import com.example.bookstore.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
     List<OrderItem> findByOrderId(Long orderId);
+
+    // excluded 상태(예: 취소)를 뺀 도서별 판매 수량
+    @Query("SELECT oi.book.id AS bookId, SUM(oi.quantity) AS quantity FROM OrderItem oi " +
+            "WHERE oi.order.status <> :excluded GROUP BY oi.book.id")
+    List<BookOrderVolume> getOrderVolumeGroupedByBook(@Param("excluded") Order.OrderStatus excluded);
+
+    // 매출 집계 재계산용: excluded 상태를 뺀 [from, to) 주문의 항목
+    @Query("SELECT o.createdAt AS createdAt, oi.book.id AS bookId, oi.quantity AS quantity, oi.price AS price " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE o.createdAt >= :from AND o.createdAt < :to AND o.status <> :excluded")
+    List<BookSale> findBookSalesBetween(@Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to,
+                                        @Param("excluded") Order.OrderStatus excluded);
+
+    interface BookOrderVolume {
+        Long getBookId();
+
+        Long getQuantity();
+    }
+
+    interface BookSale {
+        LocalDateTime getCreatedAt();
+
+        Long getBookId();
+
+        Integer getQuantity();
+
+        Integer getPrice();
+    }
 }
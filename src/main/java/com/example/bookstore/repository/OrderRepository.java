@@ -1,16 +1,23 @@
 package com.example.bookstore.repository;
 
+import com.example.bookstore.dto.order.OrderExportRow;
 import com.example.bookstore.entity.Order;
 import com.example.bookstore.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -21,6 +28,58 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     List<Order> findByStatus(Order.OrderStatus status);
 
+    /**
+     * 현재 상태가 from일 때만 상태를 바꾼다. 주문을 읽지 않고 UPDATE 한 번으로 전이 검사와 경쟁 감지를 함께 한다.
+     * userId가 null이면 소유자를 확인하지 않는다 (관리자).
+     *
+     * @return 변경된 행 수 (0이면 없는 주문, 남의 주문이거나 허용되지 않는 상태)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :to, o.version = o.version + 1, o.updatedAt = :now " +
+            "WHERE o.id = :orderId AND o.status = :from AND (:userId IS NULL OR o.user.id = :userId)")
+    int updateStatus(@Param("orderId") Long orderId,
+                     @Param("userId") Long userId,
+                     @Param("from") Order.OrderStatus from,
+                     @Param("to") Order.OrderStatus to,
+                     @Param("now") LocalDateTime now);
+
+    /**
+     * 내보내기용 forward-only 스트림. 호출하는 쪽이 트랜잭션 안에서 소비하고 닫아야 한다.
+     * 조건이 null이면 적용하지 않는다. 기간은 [from, to).
+     * MySQL은 DB_URL에 useCursorFetch=true가 있어야 fetch size 단위로 커서를 읽는다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.example.bookstore.dto.order.OrderExportRow(" +
+            "o.id, o.user.id, o.status, o.totalAmount, o.createdAt, o.updatedAt) " +
+            "FROM Order o " +
+            "WHERE (:status IS NULL OR o.status = :status) " +
+            "AND (:from IS NULL OR o.createdAt >= :from) " +
+            "AND (:to IS NULL OR o.createdAt < :to) " +
+            "ORDER BY o.id")
+    Stream<OrderExportRow> streamForExport(@Param("status") Order.OrderStatus status,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+
+    // 매출 집계용 주문 요약 (항목 수량 합 포함). 주문 엔티티를 읽지 않는다
+    @Query("SELECT o.createdAt AS createdAt, o.status AS status, o.totalAmount AS totalAmount, " +
+            "COALESCE(SUM(i.quantity), 0) AS units " +
+            "FROM Order o LEFT JOIN o.items i WHERE o.id = :orderId " +
+            "GROUP BY o.id, o.createdAt, o.status, o.totalAmount")
+    Optional<OrderSales> findSalesById(@Param("orderId") Long orderId);
+
+    @Query("SELECT o.createdAt AS createdAt, o.status AS status, o.totalAmount AS totalAmount, " +
+            "COALESCE(SUM(i.quantity), 0) AS units " +
+            "FROM Order o LEFT JOIN o.items i WHERE o.createdAt >= :from AND o.createdAt < :to " +
+            "GROUP BY o.id, o.createdAt, o.status, o.totalAmount")
+    List<OrderSales> findSalesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT MIN(o.createdAt) FROM Order o")
+    Optional<LocalDateTime> findFirstCreatedAt();
+
     @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :start AND :end")
     List<Order> findByCreatedAtBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 
@@ -29,4 +88,14 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     @Query("SELECT SUM(o.totalAmount) FROM Order o WHERE o.createdAt BETWEEN :start AND :end")
     Long sumTotalAmountBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    interface OrderSales {
+        LocalDateTime getCreatedAt();
+
+        Order.OrderStatus getStatus();
+
+        Integer getTotalAmount();
+
+        Long getUnits();
+    }
 }
@@ -10,6 +10,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,11 +28,109 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     Page<Review> findByBookAndDeletedFalse(Book book, Pageable pageable);
 
+    // 커서 페이지네이션 seek 쿼리 (첫 페이지는 서비스가 최댓값 커서를 넘긴다)
+    String AFTER_NEWEST = "(r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id))";
+    String AFTER_RATING = "(r.rating < :rating OR (r.rating = :rating AND " + AFTER_NEWEST + "))";
+
+    @Query("SELECT r FROM Review r WHERE r.book.id = :bookId AND r.deleted = false AND " + AFTER_NEWEST +
+            " ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findBookReviewsNewest(@Param("bookId") Long bookId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.book.id = :bookId AND r.deleted = false AND " + AFTER_RATING +
+            " ORDER BY r.rating DESC, r.createdAt DESC, r.id DESC")
+    List<Review> findBookReviewsByRating(@Param("bookId") Long bookId,
+                                         @Param("rating") Integer rating,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.user.id = :userId AND r.deleted = false AND " + AFTER_NEWEST +
+            " ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findUserReviewsNewest(@Param("userId") Long userId,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.user.id = :userId AND r.deleted = false AND " + AFTER_RATING +
+            " ORDER BY r.rating DESC, r.createdAt DESC, r.id DESC")
+    List<Review> findUserReviewsByRating(@Param("userId") Long userId,
+                                         @Param("rating") Integer rating,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query("SELECT COUNT(r) FROM Review r WHERE r.user.id = :userId AND r.deleted = false")
+    long countByUserId(@Param("userId") Long userId);
+
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.book.id = :bookId AND r.deleted = false")
     Double getAverageRatingByBookId(@Param("bookId") Long bookId);
 
     @Query("SELECT COUNT(r) FROM Review r WHERE r.book.id = :bookId AND r.deleted = false")
     Long countByBookId(@Param("bookId") Long bookId);
 
+    @Query("SELECT r.book.id AS bookId, COUNT(r) AS reviewCount, AVG(r.rating) AS averageRating " +
+            "FROM Review r WHERE r.deleted = false GROUP BY r.book.id")
+    List<BookReviewStats> getReviewStatsGroupedByBook();
+
+    // 평점 집계 재계산용 (BookRatingStats 보정). 리뷰가 없으면 empty
+    @Query("SELECT r.book.id AS bookId, " +
+            "SUM(r.rating) AS ratingSum, COUNT(r) AS ratingCount, " +
+            "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END) AS star1, " +
+            "SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END) AS star2, " +
+            "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END) AS star3, " +
+            "SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END) AS star4, " +
+            "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) AS star5 " +
+            "FROM Review r WHERE r.book.id = :bookId AND r.deleted = false GROUP BY r.book.id")
+    Optional<RatingAggregate> aggregateRatingsByBookId(@Param("bookId") Long bookId);
+
+    @Query("SELECT r.book.id AS bookId, " +
+            "SUM(r.rating) AS ratingSum, COUNT(r) AS ratingCount, " +
+            "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END) AS star1, " +
+            "SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END) AS star2, " +
+            "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END) AS star3, " +
+            "SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END) AS star4, " +
+            "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) AS star5 " +
+            "FROM Review r WHERE r.book.id IN :bookIds AND r.deleted = false GROUP BY r.book.id")
+    List<RatingAggregate> aggregateRatingsByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+
+    @Query("SELECT r.book.id AS bookId, " +
+            "SUM(r.rating) AS ratingSum, COUNT(r) AS ratingCount, " +
+            "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END) AS star1, " +
+            "SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END) AS star2, " +
+            "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END) AS star3, " +
+            "SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END) AS star4, " +
+            "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END) AS star5 " +
+            "FROM Review r WHERE r.deleted = false GROUP BY r.book.id")
+    List<RatingAggregate> aggregateRatingsGroupedByBook();
+
     boolean existsByUserAndBookAndDeletedFalse(User user, Book book);
+
+    interface BookReviewStats {
+        Long getBookId();
+
+        Long getReviewCount();
+
+        Double getAverageRating();
+    }
+
+    interface RatingAggregate {
+        Long getBookId();
+
+        Long getRatingSum();
+
+        Long getRatingCount();
+
+        Long getStar1();
+
+        Long getStar2();
+
+        Long getStar3();
+
+        Long getStar4();
+
+        Long getStar5();
+    }
 }
@@ -0,0 +1,60 @@
+package com.example.bookstore.repository;
+
+import com.example.bookstore.entity.Order;
+import com.example.bookstore.entity.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    // 시간/일 구간 두 행에 한 번에 더한다 (빼려면 음수). 행이 없으면 만든다
+    @Modifying
+    @Query(value = "INSERT INTO sales_rollups (granularity, bucket_start, status, order_count, revenue, units) VALUES " +
+            "('HOUR', :hour, :status, :orders, :revenue, :units), " +
+            "('DAY', :day, :status, :orders, :revenue, :units) " +
+            "ON DUPLICATE KEY UPDATE order_count = order_count + VALUES(order_count), " +
+            "revenue = revenue + VALUES(revenue), units = units + VALUES(units)", nativeQuery = true)
+    int add(@Param("hour") LocalDateTime hour,
+            @Param("day") LocalDateTime day,
+            @Param("status") String status,
+            @Param("orders") long orders,
+            @Param("revenue") long revenue,
+            @Param("units") long units);
+
+    /**
+     * 범위 [from, to)를 앞뒤 자투리 시간 구간과 가운데 일 구간으로 나눠 상태별로 합한다.
+     * 일 구간이 없으면 dayFrom = dayTo = to 로 넘긴다.
+     */
+    @Query("SELECT r.status AS status, SUM(r.orderCount) AS orderCount, SUM(r.revenue) AS revenue, SUM(r.units) AS units " +
+            "FROM SalesRollup r WHERE " +
+            "(r.granularity = HOUR AND r.bucketStart >= :from AND r.bucketStart < :dayFrom) OR " +
+            "(r.granularity = DAY AND r.bucketStart >= :dayFrom AND r.bucketStart < :dayTo) OR " +
+            "(r.granularity = HOUR AND r.bucketStart >= :dayTo AND r.bucketStart < :to) " +
+            "GROUP BY r.status")
+    List<StatusTotal> sumByStatus(@Param("from") LocalDateTime from,
+                                  @Param("dayFrom") LocalDateTime dayFrom,
+                                  @Param("dayTo") LocalDateTime dayTo,
+                                  @Param("to") LocalDateTime to);
+
+    // 재계산 전에 [from, to) 구간 행을 지운다
+    @Modifying
+    @Query("DELETE FROM SalesRollup r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteByBucketStartRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface StatusTotal {
+        Order.OrderStatus getStatus();
+
+        Long getOrderCount();
+
+        Long getRevenue();
+
+        Long getUnits();
+    }
+}
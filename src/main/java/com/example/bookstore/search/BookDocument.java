@@ -0,0 +1,60 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.entity.Book;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 검색 색인에 보관하는 도서 정보.
+ * 검색 비교용 정규화(소문자) 필드, 자동완성 표시용 원문, facet 값(가격/출판 연도),
+ * 목록 정렬용 값(출판일/등록일)을 함께 보관한다.
+ */
+public record BookDocument(Long id, String title, String author, String publisher, String summary,
+                           String displayTitle, String displayAuthor, String displayPublisher,
+                           Integer price, Integer publicationYear,
+                           LocalDate publicationDate, LocalDateTime createdAt) {
+
+    public static BookDocument from(Book book) {
+        return new BookDocument(
+                book.getId(),
+                NGramTokenizer.normalize(book.getTitle()),
+                NGramTokenizer.normalize(book.getAuthor()),
+                NGramTokenizer.normalize(book.getPublisher()),
+                NGramTokenizer.normalize(book.getSummary()),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getPublisher(),
+                book.getPrice(),
+                book.getPublicationDate() != null ? book.getPublicationDate().getYear() : null,
+                book.getPublicationDate(),
+                book.getCreatedAt());
+    }
+
+    public String field(SearchField field) {
+        return switch (field) {
+            case TITLE -> title;
+            case AUTHOR -> author;
+            case PUBLISHER -> publisher;
+            case SUMMARY -> summary;
+        };
+    }
+
+    public String display(SearchField field) {
+        return switch (field) {
+            case TITLE -> displayTitle;
+            case AUTHOR -> displayAuthor;
+            case PUBLISHER -> displayPublisher;
+            case SUMMARY -> null;
+        };
+    }
+
+    public String facetValue(FacetField field) {
+        return switch (field) {
+            case AUTHOR -> displayAuthor;
+            case PUBLISHER -> displayPublisher;
+            case PRICE_BAND -> price != null ? PriceBand.of(price).name() : null;
+            case YEAR -> publicationYear != null ? String.valueOf(publicationYear) : null;
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.entity.Order;
+import com.example.bookstore.repository.OrderItemRepository;
+import com.example.bookstore.repository.ReviewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 검색 랭킹용 인기도 신호 (리뷰 수/평균 평점, 판매 수량).
+ * 도서별 집계를 GROUP BY 두 번으로 읽어 스냅샷으로 보관하고, 스케줄러가 refresh-interval 마다 다시 읽는다.
+ * 요청 스레드는 집계 쿼리를 실행하지 않는다 (첫 갱신 전에는 가산치 없이 관련도만으로 정렬).
+ */
+@Slf4j
+@Component
+public class BookPopularity {
+
+    static final double ORDER_WEIGHT = 0.10;
+    static final double REVIEW_WEIGHT = 0.15;
+
+    private final ReviewRepository reviewRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final boolean enabled;
+
+    private volatile Map<Long, Double> boosts = Map.of();
+
+    public BookPopularity(ReviewRepository reviewRepository,
+                          OrderItemRepository orderItemRepository,
+                          @Value("${search.index.enabled:true}") boolean enabled) {
+        this.reviewRepository = reviewRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 도서 ID -> 인기도 가산치 (0 이상). 관련도 점수에 (1 + 가산치) 를 곱해 쓴다.
+     */
+    public ToDoubleFunction<Long> current() {
+        Map<Long, Double> current = boosts;
+        return id -> current.getOrDefault(id, 0.0);
+    }
+
+    // 관련도 정렬은 검색 색인이 켜져 있을 때만 쓰이므로 꺼져 있으면 집계하지 않는다
+    @Scheduled(fixedDelayString = "${search.popularity.refresh-interval:60000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Double> boosts = new HashMap<>();
+        for (ReviewRepository.BookReviewStats stats : reviewRepository.getReviewStatsGroupedByBook()) {
+            double average = stats.getAverageRating() != null ? stats.getAverageRating() : 0.0;
+            boosts.merge(stats.getBookId(),
+                    REVIEW_WEIGHT * (average / 5.0) * Math.log1p(stats.getReviewCount()), Double::sum);
+        }
+        for (OrderItemRepository.BookOrderVolume volume : orderItemRepository.getOrderVolumeGroupedByBook(Order.OrderStatus.CANCELLED)) {
+            boosts.merge(volume.getBookId(), ORDER_WEIGHT * Math.log1p(volume.getQuantity()), Double::sum);
+        }
+        this.boosts = boosts;
+        log.debug("Book popularity refreshed: {} books", boosts.size());
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.repository.BookRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 도서 제목/저자/출판사/요약 n-gram 역색인 (인메모리). 자동완성 후보와 facet BitSet 도 함께 관리한다.
+ * 시작 시 DB 에서 전체를 다시 만들고, 이후에는 BookService 의 생성/수정/삭제가 커밋된 뒤 반영한다.
+ * 후보는 n-gram 교집합으로 좁히고, 원문 부분 문자열 비교로 LIKE 와 같은 결과를 보장한다.
+ */
+@Slf4j
+@Component
+public class BookSearchIndex {
+
+    private static final SearchField[] RANKED_FIELDS = {SearchField.TITLE, SearchField.AUTHOR, SearchField.SUMMARY};
+    private static final SearchField[] SUGGEST_FIELDS = {SearchField.TITLE, SearchField.AUTHOR, SearchField.PUBLISHER};
+
+    private final boolean enabled;
+    private final BookRepository bookRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, BookDocument> documents = new HashMap<>();
+    private final Map<SearchField, Map<String, Set<Long>>> postings = new EnumMap<>(SearchField.class);
+
+    // 자동완성 후보 (필드 + 정규화 값 -> 후보). 변경되면 정렬 배열을 비우고 다음 조회 때 다시 만든다.
+    private final Map<SuggestionKey, Suggestion> suggestionCounts = new HashMap<>();
+    private volatile SuggestionIndex suggestionIndex = SuggestionIndex.EMPTY;
+    private volatile boolean suggestionsDirty;
+
+    private final FacetIndex facetIndex = new FacetIndex();
+
+    public BookSearchIndex(@Value("${search.index.enabled:true}") boolean enabled,
+                           BookRepository bookRepository) {
+        this.enabled = enabled;
+        this.bookRepository = bookRepository;
+        for (SearchField field : SearchField.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        List<Book> books = bookRepository.findAllByDeletedFalse();
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.values().forEach(Map::clear);
+            suggestionCounts.clear();
+            facetIndex.clear();
+            books.forEach(book -> add(BookDocument.from(book)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Book search index rebuilt: {} books", books.size());
+    }
+
+    // 생성/수정 후 호출. 트랜잭션 안이면 커밋 후에 반영한다.
+    public void index(Book book) {
+        if (!enabled) {
+            return;
+        }
+        BookDocument document = BookDocument.from(book);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(document.id());
+                add(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long bookId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 주어진 필드 중 하나라도 query 를 부분 문자열로 포함하는 도서 ID (오름차순).
+     */
+    public List<Long> search(String query, SearchField... fields) {
+        String normalized = NGramTokenizer.normalize(query);
+        Set<String> grams = NGramTokenizer.queryGrams(normalized);
+        Set<Long> result = new TreeSet<>();
+
+        lock.readLock().lock();
+        try {
+            for (SearchField field : fields) {
+                for (Long id : candidates(postings.get(field), grams)) {
+                    if (documents.get(id).field(field).contains(normalized)) {
+                        result.add(id);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * ids 를 order 순서로 정렬했을 때 [offset, offset + size) 구간의 ID. 색인에 없는 ID 는 건너뛴다.
+     */
+    public List<Long> slice(Collection<Long> ids, Comparator<BookDocument> order, long offset, int size) {
+        List<BookDocument> matched = new ArrayList<>(ids.size());
+        lock.readLock().lock();
+        try {
+            for (Long id : ids) {
+                BookDocument document = documents.get(id);
+                if (document != null) {
+                    matched.add(document);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (offset >= matched.size()) {
+            return List.of();
+        }
+        matched.sort(order);
+        return matched.subList((int) offset, (int) Math.min(matched.size(), offset + size)).stream()
+                .map(BookDocument::id)
+                .toList();
+    }
+
+    /**
+     * 제목/저자/요약 중 하나라도 일치하는 도서를 관련도 x (1 + 인기도) 로 점수 매겨 상위 k 개만 반환한다.
+     */
+    public RankedHits rank(String query, int k, ToDoubleFunction<Long> popularity) {
+        String normalized = NGramTokenizer.normalize(query);
+        Set<String> grams = NGramTokenizer.queryGrams(normalized);
+        TopKCollector collector = new TopKCollector(k);
+        int totalMatches = 0;
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = new HashSet<>();
+            for (SearchField field : RANKED_FIELDS) {
+                candidates.addAll(candidates(postings.get(field), grams));
+            }
+            for (Long id : candidates) {
+                double relevance = RelevanceScorer.score(documents.get(id), normalized);
+                if (relevance > 0) {
+                    totalMatches++;
+                    collector.offer(new ScoredHit(id, relevance * (1 + popularity.applyAsDouble(id))));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new RankedHits(collector.toSortedList(), totalMatches);
+    }
+
+    /**
+     * 제목/저자/출판사 중 단어 시작이 prefix 로 시작하는 후보 상위 limit 개. DB 를 조회하지 않는다.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        SuggestionIndex current = suggestionIndex;
+        if (suggestionsDirty) {
+            current = rebuildSuggestions();
+        }
+        return current.lookup(prefix, limit);
+    }
+
+    private SuggestionIndex rebuildSuggestions() {
+        lock.readLock().lock();
+        try {
+            synchronized (suggestionCounts) {
+                if (suggestionsDirty) {
+                    suggestionsDirty = false;
+                    suggestionIndex = SuggestionIndex.build(suggestionCounts.values());
+                }
+                return suggestionIndex;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 키워드(제목/저자, 선택)와 facet 조건을 모두 만족하는 도서 ID 와 facet 별 건수.
+     */
+    public FacetResult facetSearch(String keyword, Map<FacetField, Set<String>> selected, int facetLimit) {
+        List<Long> candidates = keyword != null && !keyword.isEmpty()
+                ? search(keyword, SearchField.TITLE, SearchField.AUTHOR)
+                : null;
+        lock.readLock().lock();
+        try {
+            return facetIndex.search(candidates, selected, facetLimit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 가장 짧은 posting 부터 교집합
+    private Set<Long> candidates(Map<String, Set<Long>> fieldPostings, Set<String> grams) {
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Long> ids = fieldPostings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        if (lists.isEmpty()) {
+            return Collections.emptySet();
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private void add(BookDocument document) {
+        documents.put(document.id(), document);
+        for (SearchField field : SearchField.values()) {
+            Map<String, Set<Long>> fieldPostings = postings.get(field);
+            for (String gram : NGramTokenizer.indexGrams(document.field(field))) {
+                fieldPostings.computeIfAbsent(gram, k -> new HashSet<>()).add(document.id());
+            }
+        }
+        for (SearchField field : SUGGEST_FIELDS) {
+            String display = document.display(field);
+            if (display != null && !display.isBlank()) {
+                suggestionCounts.merge(new SuggestionKey(field, document.field(field)),
+                        new Suggestion(display, field, 1),
+                        (old, added) -> new Suggestion(old.text(), field, old.count() + 1));
+            }
+        }
+        suggestionsDirty = true;
+        facetIndex.add(document);
+    }
+
+    private void removeDocument(Long bookId) {
+        BookDocument previous = documents.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        for (SearchField field : SearchField.values()) {
+            Map<String, Set<Long>> fieldPostings = postings.get(field);
+            for (String gram : NGramTokenizer.indexGrams(previous.field(field))) {
+                Set<Long> ids = fieldPostings.get(gram);
+                if (ids != null && ids.remove(bookId) && ids.isEmpty()) {
+                    fieldPostings.remove(gram);
+                }
+            }
+        }
+        for (SearchField field : SUGGEST_FIELDS) {
+            suggestionCounts.computeIfPresent(new SuggestionKey(field, previous.field(field)),
+                    (key, old) -> old.count() > 1 ? new Suggestion(old.text(), field, old.count() - 1) : null);
+        }
+        suggestionsDirty = true;
+        facetIndex.remove(previous);
+    }
+
+    private record SuggestionKey(SearchField field, String normalized) {
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
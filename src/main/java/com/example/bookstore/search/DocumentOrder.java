@@ -0,0 +1,70 @@
+package com.example.bookstore.search;
+
+import org.springframework.data.domain.Sort;
+
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Pageable 정렬 조건을 색인 문서 비교자로 옮긴다. 색인에 있는 필드만 지원한다.
+ * DB(MySQL)와 같게 오름차순은 null 이 앞, 내림차순은 null 이 뒤에 오고, 마지막에 id 로 순서를 고정한다.
+ * 문자열은 MySQL 기본 콜레이션(utf8mb4_0900_ai_ci)처럼 대소문자와 악센트를 무시하고 비교해 DB 정렬과 순서를 맞춘다.
+ */
+public final class DocumentOrder {
+
+    // Collator.compare는 동기화되어 있어 여러 요청이 같이 써도 된다
+    private static final Collator TEXT_ORDER = textOrder();
+
+    private DocumentOrder() {
+    }
+
+    /**
+     * 지원하지 않는 필드가 하나라도 있으면 empty.
+     */
+    public static Optional<Comparator<BookDocument>> of(Sort sort) {
+        Comparator<BookDocument> order = null;
+        for (Sort.Order property : sort) {
+            Comparator<BookDocument> next = switch (property.getProperty()) {
+                case "id" -> by(BookDocument::id, property);
+                case "title" -> byText(BookDocument::displayTitle, property);
+                case "author" -> byText(BookDocument::displayAuthor, property);
+                case "publisher" -> byText(BookDocument::displayPublisher, property);
+                case "price" -> by(BookDocument::price, property);
+                case "publicationDate" -> by(BookDocument::publicationDate, property);
+                case "createdAt" -> by(BookDocument::createdAt, property);
+                default -> null;
+            };
+            if (next == null) {
+                return Optional.empty();
+            }
+            order = order == null ? next : order.thenComparing(next);
+        }
+        Comparator<BookDocument> byId = Comparator.comparing(BookDocument::id);
+        return Optional.of(order == null ? byId : order.thenComparing(byId));
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<BookDocument> by(Function<BookDocument, T> key,
+                                                                                Sort.Order property) {
+        return by(key, Comparator.naturalOrder(), property);
+    }
+
+    private static Comparator<BookDocument> byText(Function<BookDocument, String> key, Sort.Order property) {
+        return by(key, TEXT_ORDER::compare, property);
+    }
+
+    private static <T> Comparator<BookDocument> by(Function<BookDocument, T> key, Comparator<? super T> order,
+                                                   Sort.Order property) {
+        Comparator<BookDocument> ascending = Comparator.comparing(key, Comparator.nullsFirst(order));
+        return property.isAscending() ? ascending : ascending.reversed();
+    }
+
+    private static Collator textOrder() {
+        Collator collator = Collator.getInstance(Locale.KOREAN);
+        // PRIMARY: 대소문자, 악센트 차이를 같은 값으로 본다
+        collator.setStrength(Collator.PRIMARY);
+        return collator;
+    }
+}
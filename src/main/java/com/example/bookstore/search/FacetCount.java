@@ -0,0 +1,4 @@
+package com.example.bookstore.search;
+
+public record FacetCount(String value, int count) {
+}
@@ -0,0 +1,5 @@
+package com.example.bookstore.search;
+
+public enum FacetField {
+    AUTHOR, PUBLISHER, PRICE_BAND, YEAR
+}
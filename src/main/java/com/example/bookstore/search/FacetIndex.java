@@ -0,0 +1,144 @@
+package com.example.bookstore.search;
+
+import java.util.*;
+
+/**
+ * facet 값별 BitSet 색인. 도서마다 조밀한 순번(ordinal)을 주고 값마다 해당 순번 비트를 켠다.
+ * 조건 결합은 BitSet 의 OR(같은 facet 안) / AND(facet 사이), 건수는 cardinality 로 계산한다.
+ * 동기화는 소유자인 {@link BookSearchIndex} 의 락에 맡긴다.
+ */
+class FacetIndex {
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final List<Long> ids = new ArrayList<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final BitSet live = new BitSet();
+    private final Map<FacetField, Map<String, BitSet>> values = new EnumMap<>(FacetField.class);
+
+    FacetIndex() {
+        for (FacetField field : FacetField.values()) {
+            values.put(field, new HashMap<>());
+        }
+    }
+
+    void add(BookDocument document) {
+        Integer reused = freeOrdinals.poll();
+        int ordinal;
+        if (reused != null) {
+            ordinal = reused;
+            ids.set(ordinal, document.id());
+        } else {
+            ordinal = ids.size();
+            ids.add(document.id());
+        }
+        ordinals.put(document.id(), ordinal);
+        live.set(ordinal);
+
+        for (FacetField field : FacetField.values()) {
+            String value = document.facetValue(field);
+            if (value != null) {
+                values.get(field).computeIfAbsent(value, k -> new BitSet()).set(ordinal);
+            }
+        }
+    }
+
+    void remove(BookDocument document) {
+        Integer ordinal = ordinals.remove(document.id());
+        if (ordinal == null) {
+            return;
+        }
+        live.clear(ordinal);
+        ids.set(ordinal, null);
+        freeOrdinals.push(ordinal);
+
+        for (FacetField field : FacetField.values()) {
+            String value = document.facetValue(field);
+            BitSet bits = value != null ? values.get(field).get(value) : null;
+            if (bits != null) {
+                bits.clear(ordinal);
+                if (bits.isEmpty()) {
+                    values.get(field).remove(value);
+                }
+            }
+        }
+    }
+
+    void clear() {
+        ordinals.clear();
+        ids.clear();
+        freeOrdinals.clear();
+        live.clear();
+        values.values().forEach(Map::clear);
+    }
+
+    /**
+     * @param candidates 키워드 등으로 미리 좁힌 도서 ID (null 이면 전체)
+     * @param selected   facet 별 선택 값. 같은 facet 안은 OR, facet 사이는 AND
+     * @param facetLimit facet 별로 반환할 최대 값 수
+     */
+    FacetResult search(Collection<Long> candidates, Map<FacetField, Set<String>> selected, int facetLimit) {
+        BitSet base = (BitSet) live.clone();
+        if (candidates != null) {
+            BitSet candidateBits = new BitSet();
+            for (Long id : candidates) {
+                Integer ordinal = ordinals.get(id);
+                if (ordinal != null) {
+                    candidateBits.set(ordinal);
+                }
+            }
+            base.and(candidateBits);
+        }
+
+        Map<FacetField, BitSet> filters = new EnumMap<>(FacetField.class);
+        for (Map.Entry<FacetField, Set<String>> entry : selected.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                continue;
+            }
+            BitSet union = new BitSet();
+            for (String value : entry.getValue()) {
+                BitSet bits = values.get(entry.getKey()).get(value);
+                if (bits != null) {
+                    union.or(bits);
+                }
+            }
+            filters.put(entry.getKey(), union);
+        }
+
+        BitSet matches = (BitSet) base.clone();
+        filters.values().forEach(matches::and);
+
+        // 각 facet 의 건수는 자기 자신을 뺀 나머지 조건으로 센다 (다중 선택 facet)
+        Map<FacetField, List<FacetCount>> facets = new EnumMap<>(FacetField.class);
+        for (FacetField field : FacetField.values()) {
+            BitSet others = (BitSet) base.clone();
+            filters.forEach((other, bits) -> {
+                if (other != field) {
+                    others.and(bits);
+                }
+            });
+            facets.put(field, count(values.get(field), others, facetLimit));
+        }
+
+        List<Long> matchedIds = new ArrayList<>(matches.cardinality());
+        for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+            matchedIds.add(ids.get(ordinal));
+        }
+        return new FacetResult(matchedIds, facets);
+    }
+
+    private List<FacetCount> count(Map<String, BitSet> fieldValues, BitSet scope, int limit) {
+        List<FacetCount> counts = new ArrayList<>();
+        BitSet scratch = new BitSet();
+        for (Map.Entry<String, BitSet> entry : fieldValues.entrySet()) {
+            scratch.clear();
+            scratch.or(entry.getValue());
+            scratch.and(scope);
+            int count = scratch.cardinality();
+            if (count > 0) {
+                counts.add(new FacetCount(entry.getKey(), count));
+            }
+        }
+        counts.sort(Comparator.comparingInt(FacetCount::count).reversed().thenComparing(FacetCount::value));
+        return counts.size() > limit ? new ArrayList<>(counts.subList(0, limit)) : counts;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.bookstore.search;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * facet 검색 결과: 모든 조건에 맞는 도서 ID 와 facet 별 값/건수.
+ */
+public record FacetResult(List<Long> ids, Map<FacetField, List<FacetCount>> facets) {
+}
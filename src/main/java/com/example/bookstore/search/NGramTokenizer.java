@@ -0,0 +1,47 @@
+package com.example.bookstore.search;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 검색 색인용 n-gram 토크나이저.
+ * 한글은 형태소 분석 없이도 부분 문자열 검색이 되도록 문자 단위 1-gram / 2-gram 을 만든다.
+ */
+public final class NGramTokenizer {
+
+    private NGramTokenizer() {
+    }
+
+    // LIKE LOWER(...) 와 같은 기준으로 소문자 변환
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    // 색인용: 모든 1-gram 과 2-gram
+    public static Set<String> indexGrams(String text) {
+        String normalized = normalize(text);
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 1));
+            if (i + 1 < normalized.length()) {
+                grams.add(normalized.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    // 검색용: 한 글자면 1-gram, 그 이상이면 2-gram 만 사용
+    public static Set<String> queryGrams(String query) {
+        String normalized = normalize(query);
+        Set<String> grams = new LinkedHashSet<>();
+        if (normalized.length() == 1) {
+            grams.add(normalized);
+            return grams;
+        }
+        for (int i = 0; i + 1 < normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 2));
+        }
+        return grams;
+    }
+}
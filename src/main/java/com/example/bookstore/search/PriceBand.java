@@ -0,0 +1,32 @@
+package com.example.bookstore.search;
+
+/**
+ * 가격대 facet 구간 [min, max).
+ */
+public enum PriceBand {
+    UNDER_20000(0, 20000),
+    FROM_20000_TO_30000(20000, 30000),
+    FROM_30000_TO_40000(30000, 40000),
+    FROM_40000_TO_50000(40000, 50000),
+    OVER_50000(50000, Integer.MAX_VALUE);
+
+    private final int min;
+    private final int max;
+
+    PriceBand(int min, int max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    public static PriceBand of(Integer price) {
+        if (price == null) {
+            return null;
+        }
+        for (PriceBand band : values()) {
+            if (price >= band.min && price < band.max) {
+                return band;
+            }
+        }
+        return UNDER_20000;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.bookstore.search;
+
+import java.util.List;
+
+/**
+ * 상위 K 개 결과(점수 내림차순)와 전체 일치 건수.
+ */
+public record RankedHits(List<ScoredHit> hits, int totalMatches) {
+}
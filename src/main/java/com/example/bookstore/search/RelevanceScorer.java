@@ -0,0 +1,46 @@
+package com.example.bookstore.search;
+
+/**
+ * 텍스트 관련도 점수.
+ * 필드 가중치(제목 > 저자 > 요약) x 일치 유형(토큰 완전 일치 > 토큰 접두어 > 부분 문자열).
+ */
+public final class RelevanceScorer {
+
+    static final double TITLE_WEIGHT = 3.0;
+    static final double AUTHOR_WEIGHT = 2.0;
+    static final double SUMMARY_WEIGHT = 1.0;
+
+    static final double EXACT = 1.0;
+    static final double PREFIX = 0.7;
+    static final double SUBSTRING = 0.4;
+
+    private RelevanceScorer() {
+    }
+
+    // query 는 NGramTokenizer.normalize 로 정규화된 값이어야 한다
+    public static double score(BookDocument document, String query) {
+        return TITLE_WEIGHT * match(document.title(), query)
+                + AUTHOR_WEIGHT * match(document.author(), query)
+                + SUMMARY_WEIGHT * match(document.summary(), query);
+    }
+
+    static double match(String text, String query) {
+        if (text == null || query.isEmpty()) {
+            return 0;
+        }
+        double best = 0;
+        int from = 0;
+        int index;
+        while ((index = text.indexOf(query, from)) >= 0) {
+            boolean startsToken = index == 0 || Character.isWhitespace(text.charAt(index - 1));
+            int end = index + query.length();
+            boolean endsToken = end == text.length() || Character.isWhitespace(text.charAt(end));
+            if (startsToken && endsToken) {
+                return EXACT;
+            }
+            best = Math.max(best, startsToken ? PREFIX : SUBSTRING);
+            from = index + 1;
+        }
+        return best;
+    }
+}
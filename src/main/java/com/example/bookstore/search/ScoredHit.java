@@ -0,0 +1,13 @@
+package com.example.bookstore.search;
+
+import java.util.Comparator;
+
+/**
+ * 점수가 매겨진 검색 결과. 점수가 같으면 최신(ID 가 큰) 도서가 앞선다.
+ */
+public record ScoredHit(Long id, double score) {
+
+    // 오름차순 = 낮은 순위부터 (최소 힙 기준)
+    public static final Comparator<ScoredHit> WORST_FIRST =
+            Comparator.comparingDouble(ScoredHit::score).thenComparing(ScoredHit::id);
+}
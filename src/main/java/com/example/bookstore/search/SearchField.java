@@ -0,0 +1,5 @@
+package com.example.bookstore.search;
+
+public enum SearchField {
+    TITLE, AUTHOR, PUBLISHER, SUMMARY
+}
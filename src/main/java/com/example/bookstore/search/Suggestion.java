@@ -0,0 +1,15 @@
+package com.example.bookstore.search;
+
+import java.util.Comparator;
+
+/**
+ * 자동완성 후보. count 는 같은 값을 가진 도서 수.
+ */
+public record Suggestion(String text, SearchField field, int count) {
+
+    // 도서 수 많은 순 -> 짧은 순 -> 사전 순
+    public static final Comparator<Suggestion> BEST_FIRST =
+            Comparator.comparingInt(Suggestion::count).reversed()
+                    .thenComparingInt(s -> s.text().length())
+                    .thenComparing(Suggestion::text);
+}
@@ -0,0 +1,82 @@
+package com.example.bookstore.search;
+
+import java.util.*;
+
+/**
+ * 자동완성용 불변 정렬 배열.
+ * 각 후보의 전체 문자열과 단어 시작 위치부터의 접미사를 키로 정렬해 두고,
+ * 접두어 검색은 이진 탐색으로 시작 위치를 찾은 뒤 범위 안에서 상위 N 개만 고른다.
+ */
+final class SuggestionIndex {
+
+    static final SuggestionIndex EMPTY = new SuggestionIndex(new String[0], new int[0], List.of());
+
+    private final String[] keys;
+    private final int[] refs;
+    private final List<Suggestion> suggestions;
+
+    private SuggestionIndex(String[] keys, int[] refs, List<Suggestion> suggestions) {
+        this.keys = keys;
+        this.refs = refs;
+        this.suggestions = suggestions;
+    }
+
+    static SuggestionIndex build(Collection<Suggestion> candidates) {
+        List<Suggestion> suggestions = new ArrayList<>(candidates);
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < suggestions.size(); i++) {
+            String normalized = NGramTokenizer.normalize(suggestions.get(i).text());
+            for (int pos = 0; pos < normalized.length(); pos++) {
+                boolean tokenStart = pos == 0 || Character.isWhitespace(normalized.charAt(pos - 1));
+                if (tokenStart && !Character.isWhitespace(normalized.charAt(pos))) {
+                    entries.add(Map.entry(normalized.substring(pos), i));
+                }
+            }
+        }
+        entries.sort(Map.Entry.comparingByKey());
+
+        String[] keys = new String[entries.size()];
+        int[] refs = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).getKey();
+            refs[i] = entries.get(i).getValue();
+        }
+        return new SuggestionIndex(keys, refs, suggestions);
+    }
+
+    List<Suggestion> lookup(String prefix, int limit) {
+        String normalized = NGramTokenizer.normalize(prefix);
+        int start = lowerBound(normalized);
+
+        // 같은 후보가 여러 접미사로 걸릴 수 있으므로 중복 제거 후 상위 limit 개 유지
+        Set<Integer> seen = new HashSet<>();
+        PriorityQueue<Suggestion> top = new PriorityQueue<>(Suggestion.BEST_FIRST.reversed());
+        for (int i = start; i < keys.length && keys[i].startsWith(normalized); i++) {
+            if (!seen.add(refs[i])) {
+                continue;
+            }
+            top.add(suggestions.get(refs[i]));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Suggestion> result = new ArrayList<>(top);
+        result.sort(Suggestion.BEST_FIRST);
+        return result;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
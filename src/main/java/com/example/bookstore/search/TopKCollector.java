@@ -0,0 +1,38 @@
+package com.example.bookstore.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 크기 K 로 제한된 최소 힙. 전체 일치 결과를 모으거나 정렬하지 않고 상위 K 개만 유지한다.
+ */
+public class TopKCollector {
+
+    private final int k;
+    private final PriorityQueue<ScoredHit> heap;
+
+    public TopKCollector(int k) {
+        this.k = k;
+        this.heap = new PriorityQueue<>(Math.max(1, k), ScoredHit.WORST_FIRST);
+    }
+
+    public void offer(ScoredHit hit) {
+        if (k <= 0) {
+            return;
+        }
+        if (heap.size() < k) {
+            heap.add(hit);
+        } else if (ScoredHit.WORST_FIRST.compare(hit, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(hit);
+        }
+    }
+
+    // 점수 내림차순 (K log K)
+    public List<ScoredHit> toSortedList() {
+        List<ScoredHit> result = new ArrayList<>(heap);
+        result.sort(ScoredHit.WORST_FIRST.reversed());
+        return result;
+    }
+}
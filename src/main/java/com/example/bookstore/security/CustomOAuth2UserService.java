@@ -21,6 +21,7 @@ import java.util.Optional;
 public class CustomOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -65,6 +66,8 @@ public class CustomOAuth2UserService extends DefaultOAuth2UserService {
             log.info("New user created: {}", email);
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userCache.invalidate(email);
+        return saved;
     }
 }
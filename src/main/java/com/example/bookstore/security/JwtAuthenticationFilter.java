@@ -1,6 +1,5 @@
 package com.example.bookstore.security;
 
-import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,19 +27,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = resolveToken(request);
 
-        try {
-            if (token != null && jwtTokenProvider.validateToken(token)) {
-                Authentication auth = jwtTokenProvider.getAuthentication(token);
-                SecurityContextHolder.getContext().setAuthentication(auth);
+        if (token != null) {
+            // 서명 검증과 클레임 추출을 한 번의 파싱으로 처리
+            JwtParseResult result = jwtTokenProvider.parse(token);
+
+            if (result.isExpired()) {
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType("application/json;charset=UTF-8");
+                response.getWriter().write("{\"isSuccess\":false,\"message\":\"토큰이 만료되었습니다\",\"code\":\"TOKEN_EXPIRED\"}");
+                return;
+            }
+
+            if (result.isValid()) {
+                try {
+                    Authentication auth = jwtTokenProvider.getAuthentication(result.getClaims());
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                } catch (Exception e) {
+                    log.error("Cannot set user authentication: {}", e.getMessage());
+                }
             }
-        } catch (ExpiredJwtException e) {
-            log.error("Token expired: {}", e.getMessage());
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.setContentType("application/json;charset=UTF-8");
-            response.getWriter().write("{\"isSuccess\":false,\"message\":\"토큰이 만료되었습니다\",\"code\":\"TOKEN_EXPIRED\"}");
-            return;
-        } catch (Exception e) {
-            log.error("Cannot set user authentication: {}", e.getMessage());
         }
 
         filterChain.doFilter(request, response);
@@ -0,0 +1,43 @@
+package com.example.bookstore.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 토큰을 한 번 검증한 결과. 만료된 토큰도 서명이 맞으면 클레임을 담는다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class JwtParseResult {
+
+    private static final JwtParseResult INVALID = new JwtParseResult(Status.INVALID, null);
+
+    private final Status status;
+    private final Claims claims;
+
+    public static JwtParseResult valid(Claims claims) {
+        return new JwtParseResult(Status.VALID, claims);
+    }
+
+    public static JwtParseResult expired(Claims claims) {
+        return new JwtParseResult(Status.EXPIRED, claims);
+    }
+
+    public static JwtParseResult invalid() {
+        return INVALID;
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+
+    public boolean isExpired() {
+        return status == Status.EXPIRED;
+    }
+
+    public enum Status {
+        VALID, EXPIRED, INVALID
+    }
+}
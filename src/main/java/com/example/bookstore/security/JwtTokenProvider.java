@@ -1,5 +1,6 @@
 package com.example.bookstore.security;
 
+import com.example.bookstore.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -21,6 +22,9 @@ import java.util.Date;
 @RequiredArgsConstructor
 public class JwtTokenProvider {
 
+    private static final String ROLE_CLAIM = "role";
+    private static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -30,27 +34,46 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token-validity}")
     private long refreshTokenValidity;
 
+    // true면 토큰 클레임(uid, email, role)만으로 principal을 만들고 users 테이블을 조회하지 않음
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
     private SecretKey key;
 
+    // JwtParser는 불변/스레드 안전하므로 한 번만 만들어 재사용
+    private JwtParser parser;
+
     private final UserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     @PostConstruct
     protected void init() {
         this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
     }
 
     public String createAccessToken(String email, String role) {
+        return createAccessToken(null, email, role);
+    }
+
+    public String createAccessToken(Long userId, String email, String role) {
         Claims claims = Jwts.claims().subject(email).build();
-        Date now = new Date();
+        Date now = new Date(verifiedTokenCache.issuedAtFor(email, System.currentTimeMillis()));
         Date validity = new Date(now.getTime() + accessTokenValidity);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .claims(claims)
-                .claim("role", role)
+                .claim(ROLE_CLAIM, role)
                 .issuedAt(now)
-                .expiration(validity)
-                .signWith(key)
-                .compact();
+                .expiration(validity);
+
+        if (userId != null) {
+            builder.claim(USER_ID_CLAIM, userId);
+        }
+
+        return builder.signWith(key).compact();
     }
 
     public String createRefreshToken(String email) {
@@ -65,47 +88,75 @@ public class JwtTokenProvider {
                 .compact();
     }
 
+    // 서명 검증 + 클레임 디코딩을 한 번에 수행
+    public JwtParseResult parse(String token) {
+        Claims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return checkRevoked(cached);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            // 액세스 토큰만 캐시 (리프레시 토큰은 재발급 때 한 번 쓰이고 만료가 길다)
+            if (claims.get(ROLE_CLAIM) != null) {
+                if (verifiedTokenCache.isRevoked(claims)) {
+                    return JwtParseResult.invalid();
+                }
+                verifiedTokenCache.put(token, claims);
+            }
+            return JwtParseResult.valid(claims);
+        } catch (ExpiredJwtException e) {
+            log.error("Expired JWT token");
+            return JwtParseResult.expired(e.getClaims());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return JwtParseResult.invalid();
+        } finally {
+            verifiedTokenCache.recordVerification(System.nanoTime() - start);
+        }
+    }
+
+    // 캐시에는 액세스 토큰만 들어 있다 (캐시된 뒤 로그아웃/권한 변경이 있었을 수 있음)
+    private JwtParseResult checkRevoked(Claims claims) {
+        return verifiedTokenCache.isRevoked(claims) ? JwtParseResult.invalid() : JwtParseResult.valid(claims);
+    }
+
     public Authentication getAuthentication(String token) {
-        String email = getEmailFromToken(token);
-        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        return getAuthentication(parser.parseSignedClaims(token).getPayload());
+    }
+
+    public Authentication getAuthentication(Claims claims) {
+        UserDetails userDetails = statelessPrincipal && claims.get(USER_ID_CLAIM) != null
+                ? toPrincipal(claims)
+                : userDetailsService.loadUserByUsername(claims.getSubject());
         return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
     }
 
+    // 클레임으로 id/email/role만 채운 비영속 User를 만든다.
+    // 이름, 주소 등 나머지 필드가 필요한 곳은 UserService에서 id로 다시 조회해야 한다.
+    private User toPrincipal(Claims claims) {
+        return User.builder()
+                .id(((Number) claims.get(USER_ID_CLAIM)).longValue())
+                .email(claims.getSubject())
+                .role(User.Role.valueOf(claims.get(ROLE_CLAIM, String.class)))
+                .build();
+    }
+
     public String getEmailFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return parser.parseSignedClaims(token).getPayload().getSubject();
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (ExpiredJwtException e) {
-            log.error("Expired JWT token");
-            throw e;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-            return false;
+        JwtParseResult result = parse(token);
+        if (result.isExpired()) {
+            throw new ExpiredJwtException(null, result.getClaims(), "Expired JWT token");
         }
+        return result.isValid();
     }
 
     public boolean isTokenExpired(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return false;
-        } catch (ExpiredJwtException e) {
-            return true;
-        }
+        return parse(token).isExpired();
     }
 
     public long getRefreshTokenValidity() {
@@ -35,7 +35,7 @@ public class OAuth2SuccessHandler extends SimpleUrlAuthenticationSuccessHandler
         String email = oAuth2User.getUser().getEmail();
         String role = oAuth2User.getUser().getRole().name();
 
-        String accessToken = jwtTokenProvider.createAccessToken(email, role);
+        String accessToken = jwtTokenProvider.createAccessToken(oAuth2User.getUser().getId(), email, role);
         String refreshToken = jwtTokenProvider.createRefreshToken(email);
 
         log.info("Access Token Generated");
@@ -0,0 +1,132 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 이메일 기준 User 캐시 (LRU + TTL).
+ * 사용자 정보가 바뀌는 곳에서는 반드시 {@link #invalidate(String)}를 호출해야 한다.
+ */
+@Slf4j
+@Component
+public class UserCache {
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    // access-order LinkedHashMap, this로 동기화
+    private final LinkedHashMap<String, CachedUser> entries;
+    // 무효화마다 증가. 로드 전에 읽은 값과 다르면 로드 도중 무효화가 있었던 것이므로 결과를 캐시하지 않는다
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserCache(@Value("${security.user-cache.enabled:true}") boolean enabled,
+                     @Value("${security.user-cache.max-size:10000}") int maxSize,
+                     @Value("${security.user-cache.ttl:300000}") long ttlMillis) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                if (size() > UserCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public User get(String email, Function<String, User> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+
+        long now = System.currentTimeMillis();
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+            CachedUser cached = entries.get(email);
+            if (cached != null) {
+                if (cached.expiresAt > now) {
+                    hits.incrementAndGet();
+                    return cached.user;
+                }
+                entries.remove(email);
+                evictions.incrementAndGet();
+            }
+        }
+
+        // DB 조회는 락 밖에서 수행 (로더가 예외를 던지면 캐시하지 않음)
+        misses.incrementAndGet();
+        User user = loader.apply(email);
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(email, new CachedUser(user, now + ttlMillis));
+            }
+        }
+        return user;
+    }
+
+    // 즉시 제거하고, 트랜잭션 안이라면 커밋 직후 한 번 더 제거한다.
+    // (커밋 전에 다른 요청이 옛 값을 다시 채워 넣는 경우 방지)
+    public void invalidate(String email) {
+        if (!enabled || email == null) {
+            return;
+        }
+        remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(email);
+                }
+            });
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    private synchronized void remove(String email) {
+        generation++;
+        if (entries.remove(email) != null) {
+            log.debug("User cache invalidated: {}", email);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    private record CachedUser(User user, long expiresAt) {
+    }
+}
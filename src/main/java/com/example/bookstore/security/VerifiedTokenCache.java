@@ -0,0 +1,162 @@
+package com.example.bookstore.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 서명 검증을 통과한 액세스 토큰의 클레임 캐시.
+ * 키는 토큰의 SHA-256 digest, 값은 토큰의 exp까지만 유효하다.
+ * 로그아웃/권한 변경 시 사용자별 기준 시각(notBefore)을 기록해 그 전에 발급된 액세스 토큰을 거절한다
+ * (캐시 사용 여부와 무관하게 동작, 인스턴스 메모리에만 기록).
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final long PURGE_INTERVAL_MS = 1_000;
+
+    private final boolean enabled;
+    private final int maxSize;
+
+    private final long accessTokenValidity;
+
+    private final Map<String, CachedClaims> entries = new ConcurrentHashMap<>();
+    // subject -> 이 시각(ms)보다 먼저 발급된 액세스 토큰은 무효
+    private final Map<String, Long> notBefore = new ConcurrentHashMap<>();
+    private final AtomicLong lastPurge = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong verifications = new AtomicLong();
+    private final AtomicLong verificationNanos = new AtomicLong();
+
+    public VerifiedTokenCache(@Value("${jwt.token-cache.enabled:false}") boolean enabled,
+                              @Value("${jwt.token-cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.access-token-validity:3600000}") long accessTokenValidity) {
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.accessTokenValidity = accessTokenValidity;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Claims get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        CachedClaims cached = entries.get(digest(token));
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            hits.incrementAndGet();
+            return cached.claims;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String token, Claims claims) {
+        if (!enabled || claims.getExpiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            purgeExpired();
+            if (entries.size() >= maxSize) {
+                // 가득 찬 상태면 캐시하지 않고 매번 검증
+                return;
+            }
+        }
+        entries.put(digest(token), new CachedClaims(claims, claims.getExpiration().getTime()));
+    }
+
+    // 로그아웃/권한 변경/삭제 시: 지금까지 발급된 해당 사용자의 액세스 토큰을 모두 무효로 하고 캐시 항목 제거
+    public void revokeSubject(String subject) {
+        if (subject == null) {
+            return;
+        }
+        purgeExpired();
+        notBefore.put(subject, System.currentTimeMillis());
+        if (enabled) {
+            entries.values().removeIf(cached -> subject.equals(cached.claims.getSubject()));
+        }
+    }
+
+    // iat는 초 단위이므로 같은 초에 발급된 토큰도 거절된다 (새 토큰은 issuedAtFor로 다음 초부터 발급)
+    public boolean isRevoked(Claims claims) {
+        Long revokedAt = notBefore.get(claims.getSubject());
+        return revokedAt != null && (claims.getIssuedAt() == null || claims.getIssuedAt().getTime() < revokedAt);
+    }
+
+    // 새 액세스 토큰의 발급 시각. 같은 초에 무효화가 있었다면 다음 초로 올려 무효화 기준을 넘긴다
+    public long issuedAtFor(String subject, long now) {
+        Long revokedAt = notBefore.get(subject);
+        if (revokedAt == null || now >= (revokedAt + 999) / 1000 * 1000) {
+            return now;
+        }
+        return (revokedAt + 999) / 1000 * 1000;
+    }
+
+    public void recordVerification(long nanos) {
+        verifications.incrementAndGet();
+        verificationNanos.addAndGet(nanos);
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        long last = lastPurge.get();
+        if (now - last < PURGE_INTERVAL_MS || !lastPurge.compareAndSet(last, now)) {
+            return;
+        }
+        entries.values().removeIf(cached -> cached.expiresAt <= now);
+        // 유효기간이 지나면 그 전에 발급된 토큰은 모두 만료됐으므로 기준 시각도 필요 없다
+        notBefore.values().removeIf(revokedAt -> revokedAt + accessTokenValidity <= now);
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    public long getVerificationCount() {
+        return verifications.get();
+    }
+
+    public double getAverageVerificationMicros() {
+        long count = verifications.get();
+        return count == 0 ? 0.0 : verificationNanos.get() / 1_000.0 / count;
+    }
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
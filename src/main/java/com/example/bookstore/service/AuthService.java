@@ -7,7 +7,10 @@ import com.example.bookstore.exception.BusinessException;
 import com.example.bookstore.exception.ErrorCode;
 import com.example.bookstore.repository.RefreshTokenRepository;
 import com.example.bookstore.repository.UserRepository;
+import com.example.bookstore.security.JwtParseResult;
 import com.example.bookstore.security.JwtTokenProvider;
+import com.example.bookstore.security.UserCache;
+import com.example.bookstore.security.VerifiedTokenCache;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.google.firebase.auth.FirebaseToken;
@@ -34,6 +37,8 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
+    private final UserCache userCache;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     public Long signUp(SignUpRequest request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -62,7 +67,7 @@ public class AuthService {
 
             User user = (User) authentication.getPrincipal();
 
-            String accessToken = jwtTokenProvider.createAccessToken(user.getEmail(), user.getRole().name());
+            String accessToken = jwtTokenProvider.createAccessToken(user.getId(), user.getEmail(), user.getRole().name());
             String refreshToken = jwtTokenProvider.createRefreshToken(user.getEmail());
 
             // Revoke all previous refresh tokens
@@ -121,9 +126,10 @@ public class AuthService {
                 user.setProviderId(uid);
                 userRepository.save(user);
             }
+            userCache.invalidate(user.getEmail());
 
             // 4. 앱 자체 JWT 토큰 발급 (기존 로그인 로직 재사용)
-            String accessToken = jwtTokenProvider.createAccessToken(user.getEmail(), user.getRole().name());
+            String accessToken = jwtTokenProvider.createAccessToken(user.getId(), user.getEmail(), user.getRole().name());
             String refreshToken = jwtTokenProvider.createRefreshToken(user.getEmail());
 
             // 5. Refresh Token 저장 (기존 로직과 동일)
@@ -152,6 +158,15 @@ public class AuthService {
     }
 
     public LoginResponse refreshToken(RefreshTokenRequest request) {
+        // 서명이 맞지 않거나 만료된 토큰은 DB 조회 없이 거절
+        JwtParseResult parsed = jwtTokenProvider.parse(request.getRefreshToken());
+        if (parsed.isExpired()) {
+            throw new BusinessException(ErrorCode.TOKEN_EXPIRED);
+        }
+        if (!parsed.isValid()) {
+            throw new BusinessException(ErrorCode.INVALID_TOKEN);
+        }
+
         RefreshToken refreshToken = refreshTokenRepository.findByTokenAndRevokedFalse(request.getRefreshToken())
                 .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_TOKEN));
 
@@ -160,7 +175,7 @@ public class AuthService {
         }
 
         User user = refreshToken.getUser();
-        String newAccessToken = jwtTokenProvider.createAccessToken(user.getEmail(), user.getRole().name());
+        String newAccessToken = jwtTokenProvider.createAccessToken(user.getId(), user.getEmail(), user.getRole().name());
         String newRefreshToken = jwtTokenProvider.createRefreshToken(user.getEmail());
 
         // Revoke old refresh token
@@ -188,5 +203,6 @@ public class AuthService {
 
     public void logout(User user) {
         refreshTokenRepository.revokeAllByUser(user);
+        verifiedTokenCache.revokeSubject(user.getEmail());
     }
 }
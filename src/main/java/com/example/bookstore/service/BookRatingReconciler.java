@@ -0,0 +1,44 @@
+package com.example.bookstore.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 평점 집계 보정 작업.
+ * 시작 시 한 번(시드 데이터처럼 ReviewService 를 거치지 않은 리뷰 반영) 그리고 rating.reconcile.cron 주기로 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookRatingReconciler {
+
+    private final BookRatingService bookRatingService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcileAll();
+    }
+
+    @Scheduled(cron = "${rating.reconcile.cron:0 30 4 * * *}")
+    public void reconcileAll() {
+        List<Long> drifted = bookRatingService.findDriftedBookIds();
+        int repaired = 0;
+        for (Long bookId : drifted) {
+            // 도서마다 별도 트랜잭션 (행 잠금을 짧게 유지)
+            if (bookRatingService.reconcile(bookId)) {
+                repaired++;
+            }
+        }
+        if (repaired > 0) {
+            log.warn("Book rating stats repaired for {} books", repaired);
+        } else {
+            log.info("Book rating stats reconciled: no drift");
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.entity.BookRatingStats;
+import com.example.bookstore.repository.BookRatingStatsRepository;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 도서 평점 집계(BookRatingStats) 관리.
+ * 리뷰 변경은 증분 UPDATE 로 반영하고, 어긋난 집계는 리뷰 테이블 기준으로 다시 계산한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class BookRatingService {
+
+    private final BookRatingStatsRepository bookRatingStatsRepository;
+    private final ReviewRepository reviewRepository;
+    private final BookRepository bookRepository;
+
+    public Optional<BookRatingStats> findActive(Long bookId) {
+        return bookRatingStatsRepository.findByActiveBookId(bookId);
+    }
+
+    // 리뷰 테이블에서 직접 계산한 집계 (저장하지 않음)
+    public BookRatingStats computeFromReviews(Long bookId) {
+        return toStats(bookId, reviewRepository.aggregateRatingsByBookId(bookId).orElse(null));
+    }
+
+    /**
+     * 삭제되지 않은 도서들의 집계를 한 번에 조회 (쿼리 최대 3번, 도서 수와 무관).
+     * 집계 행이 없는 도서는 리뷰 테이블의 GROUP BY 한 번으로 채운다. 없는/삭제된 도서는 결과에서 빠진다.
+     */
+    public Map<Long, BookRatingStats> findActiveByIds(Collection<Long> bookIds) {
+        Map<Long, BookRatingStats> result = new HashMap<>();
+        if (bookIds.isEmpty()) {
+            return result;
+        }
+        bookRatingStatsRepository.findByActiveBookIdIn(bookIds)
+                .forEach(stats -> result.put(stats.getBookId(), stats));
+
+        Set<Long> missing = new HashSet<>(bookIds);
+        missing.removeAll(result.keySet());
+        if (!missing.isEmpty()) {
+            List<Long> liveIds = bookRepository.findIdsByIdInAndDeletedFalse(missing);
+            if (!liveIds.isEmpty()) {
+                Map<Long, ReviewRepository.RatingAggregate> aggregates = reviewRepository.aggregateRatingsByBookIdIn(liveIds)
+                        .stream()
+                        .collect(Collectors.toMap(ReviewRepository.RatingAggregate::getBookId, Function.identity()));
+                liveIds.forEach(id -> result.put(id, toStats(id, aggregates.get(id))));
+            }
+        }
+        return result;
+    }
+
+    @Transactional
+    public void createStats(Long bookId) {
+        bookRatingStatsRepository.save(BookRatingStats.empty(bookId));
+    }
+
+    @Transactional
+    public void onReviewCreated(Long bookId, int rating) {
+        apply(bookId, rating, 0);
+    }
+
+    @Transactional
+    public void onReviewUpdated(Long bookId, int oldRating, int newRating) {
+        if (oldRating != newRating) {
+            apply(bookId, newRating, oldRating);
+        }
+    }
+
+    @Transactional
+    public void onReviewDeleted(Long bookId, int rating) {
+        apply(bookId, 0, rating);
+    }
+
+    // added / removed: 더하거나 뺄 평점 (0 이면 없음)
+    private void apply(Long bookId, int added, int removed) {
+        long[] stars = new long[6];
+        long count = 0;
+        if (added > 0) {
+            stars[added]++;
+            count++;
+        }
+        if (removed > 0) {
+            stars[removed]--;
+            count--;
+        }
+        int updated = bookRatingStatsRepository.adjust(bookId, added - removed, count,
+                stars[1], stars[2], stars[3], stars[4], stars[5]);
+        if (updated == 0) {
+            // 집계 행이 아직 없는 도서 (이 기능 이전에 생성된 도서 등): 방금 변경까지 포함해 새로 계산.
+            // 같은 도서의 첫 리뷰가 동시에 들어와도 upsert 라 중복 키로 리뷰가 롤백되지 않는다
+            bookRatingStatsRepository.insertFromReviewsOrAdjust(bookId, added - removed, count,
+                    stars[1], stars[2], stars[3], stars[4], stars[5]);
+        }
+    }
+
+    /**
+     * 한 도서의 집계를 리뷰 테이블 기준으로 다시 계산한다. 값을 고쳤으면 true.
+     * 집계 행을 먼저 잠그므로 그 사이 들어온 증분 갱신은 보정이 끝난 뒤 순서대로 반영된다.
+     */
+    @Transactional
+    public boolean reconcile(Long bookId) {
+        Optional<BookRatingStats> current = bookRatingStatsRepository.findByIdForUpdate(bookId);
+        BookRatingStats expected = computeFromReviews(bookId);
+
+        if (current.isEmpty()) {
+            bookRatingStatsRepository.save(expected);
+            return true;
+        }
+        BookRatingStats stats = current.get();
+        if (stats.sameCounts(expected)) {
+            return false;
+        }
+        stats.setRatingSum(expected.getRatingSum());
+        stats.setRatingCount(expected.getRatingCount());
+        stats.setStar1(expected.getStar1());
+        stats.setStar2(expected.getStar2());
+        stats.setStar3(expected.getStar3());
+        stats.setStar4(expected.getStar4());
+        stats.setStar5(expected.getStar5());
+        stats.setUpdatedAt(LocalDateTime.now());
+        return true;
+    }
+
+    /**
+     * 집계 행이 없거나 리뷰 테이블과 값이 다른 도서 ID. 집계 쿼리 세 번으로 전체를 비교한다.
+     */
+    public List<Long> findDriftedBookIds() {
+        Map<Long, ReviewRepository.RatingAggregate> actual = reviewRepository.aggregateRatingsGroupedByBook().stream()
+                .collect(Collectors.toMap(ReviewRepository.RatingAggregate::getBookId, Function.identity()));
+        Map<Long, BookRatingStats> stored = bookRatingStatsRepository.findAll().stream()
+                .collect(Collectors.toMap(BookRatingStats::getBookId, Function.identity()));
+
+        Set<Long> bookIds = new TreeSet<>(bookRepository.findIdsByDeletedFalse());
+        bookIds.addAll(stored.keySet());
+
+        List<Long> drifted = new ArrayList<>();
+        for (Long bookId : bookIds) {
+            BookRatingStats stats = stored.get(bookId);
+            if (stats == null || !stats.sameCounts(toStats(bookId, actual.get(bookId)))) {
+                drifted.add(bookId);
+            }
+        }
+        return drifted;
+    }
+
+    private BookRatingStats toStats(Long bookId, ReviewRepository.RatingAggregate aggregate) {
+        BookRatingStats stats = BookRatingStats.empty(bookId);
+        if (aggregate != null) {
+            stats.setRatingSum(aggregate.getRatingSum());
+            stats.setRatingCount(aggregate.getRatingCount());
+            stats.setStar1(aggregate.getStar1());
+            stats.setStar2(aggregate.getStar2());
+            stats.setStar3(aggregate.getStar3());
+            stats.setStar4(aggregate.getStar4());
+            stats.setStar5(aggregate.getStar5());
+        }
+        return stats;
+    }
+}
@@ -1,28 +1,67 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.dto.Cursor;
+import com.example.bookstore.dto.CursorResponse;
 import com.example.bookstore.dto.PageResponse;
 import com.example.bookstore.dto.book.*;
 import com.example.bookstore.entity.Book;
+import com.example.bookstore.entity.BookRatingStats;
 import com.example.bookstore.exception.BusinessException;
 import com.example.bookstore.exception.ErrorCode;
 import com.example.bookstore.repository.BookRepository;
-import com.example.bookstore.repository.ReviewRepository;
+import com.example.bookstore.ranking.BookSalesRanking;
+import com.example.bookstore.ranking.RankingType;
+import com.example.bookstore.search.BookDocument;
+import com.example.bookstore.search.BookPopularity;
+import com.example.bookstore.search.BookSearchIndex;
+import com.example.bookstore.search.DocumentOrder;
+import com.example.bookstore.search.FacetField;
+import com.example.bookstore.search.FacetResult;
+import com.example.bookstore.search.PriceBand;
+import com.example.bookstore.search.RankedHits;
+import com.example.bookstore.search.ScoredHit;
+import com.example.bookstore.search.SearchField;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final String RELEVANCE_SORT = "relevance";
+    private static final int MAX_RANKED_RESULTS = 1000;
+    private static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_FACET_VALUES = 20;
+    private static final int MAX_BULK_RATING_IDS = 100;
+    private static final int MAX_RANKING_SIZE = 50;
+
     private final BookRepository bookRepository;
-    private final ReviewRepository reviewRepository;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookPopularity bookPopularity;
+    private final BookRatingService bookRatingService;
+    private final BookSalesRanking bookSalesRanking;
 
     // Admin: Create book
     @Transactional
@@ -41,7 +80,10 @@ public class BookService {
                 .publicationDate(request.getPublicationDate())
                 .build();
 
-        return bookRepository.save(book).getId();
+        Book saved = bookRepository.save(book);
+        bookRatingService.createStats(saved.getId());
+        bookSearchIndex.index(saved);
+        return saved.getId();
     }
 
     // Public: Get single book
@@ -60,9 +102,25 @@ public class BookService {
 
     // Public: Get books with pagination and search
     public PageResponse<BookResponse> getBooks(String keyword, String author, String publisher, Pageable pageable) {
+        // sort=relevance: 키워드 관련도 + 인기도 순위. 색인이 꺼져 있거나 키워드가 없으면 최신순으로 대체
+        if (pageable.getSort().getOrderFor(RELEVANCE_SORT) != null) {
+            if (bookSearchIndex.isEnabled() && hasText(keyword)) {
+                return getBooksByRelevance(keyword, pageable);
+            }
+            pageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by(Sort.Direction.DESC, "createdAt"));
+        }
+
         Page<Book> books;
+        // 색인에 없는 필드로 정렬하면 DB LIKE 검색으로 처리
+        Optional<Comparator<BookDocument>> indexOrder =
+                bookSearchIndex.isEnabled() && (hasText(keyword) || hasText(author) || hasText(publisher))
+                        ? DocumentOrder.of(pageable.getSort())
+                        : Optional.empty();
 
-        if (keyword != null && !keyword.isEmpty()) {
+        if (indexOrder.isPresent()) {
+            books = searchByIndex(keyword, author, publisher, indexOrder.get(), pageable);
+        } else if (keyword != null && !keyword.isEmpty()) {
             books = bookRepository.searchBooks(keyword, pageable);
         } else if (author != null && !author.isEmpty()) {
             books = bookRepository.findByAuthorContaining(author, pageable);
@@ -77,6 +135,180 @@ public class BookService {
                 .toList());
     }
 
+    // 역색인으로 일치하는 ID 를 구해 색인 문서로 정렬하고, 현재 페이지의 행만 PK 로 조회
+    private Page<Book> searchByIndex(String keyword, String author, String publisher,
+                                     Comparator<BookDocument> order, Pageable pageable) {
+        List<Long> ids;
+        if (hasText(keyword)) {
+            ids = bookSearchIndex.search(keyword, SearchField.TITLE, SearchField.AUTHOR);
+        } else if (hasText(author)) {
+            ids = bookSearchIndex.search(author, SearchField.AUTHOR);
+        } else {
+            ids = bookSearchIndex.search(publisher, SearchField.PUBLISHER);
+        }
+
+        if (ids.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        List<Long> pageIds = bookSearchIndex.slice(ids, order, pageable.getOffset(), pageable.getPageSize());
+        return loadPage(pageIds, ids.size(), pageable);
+    }
+
+    // PK 로 조회한 뒤 pageIds 순서대로 다시 배열 (그 사이 삭제된 도서는 제외)
+    private Page<Book> loadPage(List<Long> pageIds, long total, Pageable pageable) {
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+        Map<Long, Book> rows = new HashMap<>();
+        bookRepository.findAllById(pageIds).forEach(book -> rows.put(book.getId(), book));
+        List<Book> content = pageIds.stream()
+                .map(rows::get)
+                .filter(book -> book != null && !Boolean.TRUE.equals(book.getDeleted()))
+                .toList();
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private PageResponse<BookResponse> getBooksByRelevance(String keyword, Pageable pageable) {
+        long end = pageable.getOffset() + pageable.getPageSize();
+        if (end > MAX_RANKED_RESULTS) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                    "관련도 정렬은 상위 " + MAX_RANKED_RESULTS + "건까지만 조회할 수 있습니다");
+        }
+
+        RankedHits ranked = bookSearchIndex.rank(keyword, (int) end, bookPopularity.current());
+        List<Long> pageIds = ranked.hits().stream()
+                .skip(pageable.getOffset())
+                .map(ScoredHit::id)
+                .toList();
+
+        Page<Book> books = loadPage(pageIds, ranked.totalMatches(), pageable);
+        return PageResponse.of(books, books.getContent().stream().map(BookResponse::from).toList());
+    }
+
+    // Public: Faceted search (author/publisher/price band/year, 같은 facet 은 OR, facet 사이는 AND)
+    public BookFacetResponse searchFacets(String keyword, List<String> authors, List<String> publishers,
+                                          List<String> priceBands, List<Integer> years, Pageable pageable) {
+        if (!bookSearchIndex.isEnabled()) {
+            throw new BusinessException(ErrorCode.SERVICE_UNAVAILABLE, "검색 색인이 비활성화되어 있습니다");
+        }
+
+        Map<FacetField, Set<String>> selected = new EnumMap<>(FacetField.class);
+        selected.put(FacetField.AUTHOR, toSet(authors));
+        selected.put(FacetField.PUBLISHER, toSet(publishers));
+        selected.put(FacetField.PRICE_BAND, toSet(priceBands));
+        selected.put(FacetField.YEAR, years == null ? Set.of()
+                : years.stream().map(String::valueOf).collect(Collectors.toSet()));
+        for (String band : selected.get(FacetField.PRICE_BAND)) {
+            try {
+                PriceBand.valueOf(band);
+            } catch (IllegalArgumentException e) {
+                throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM, "알 수 없는 가격대입니다: " + band);
+            }
+        }
+
+        FacetResult result = bookSearchIndex.facetSearch(hasText(keyword) ? keyword : null, selected, MAX_FACET_VALUES);
+        Pageable sorted = pageable.getSort().getOrderFor(RELEVANCE_SORT) != null
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by(Sort.Direction.DESC, "createdAt"))
+                : pageable;
+        Comparator<BookDocument> order = DocumentOrder.of(sorted.getSort())
+                .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                        "facet 검색은 id, title, author, publisher, price, publicationDate, createdAt 으로만 정렬할 수 있습니다"));
+        // 조건에 맞는 전체 ID 중 현재 페이지만 잘라서 PK 로 조회
+        Page<Book> books = loadPage(
+                bookSearchIndex.slice(result.ids(), order, sorted.getOffset(), sorted.getPageSize()),
+                result.ids().size(), sorted);
+
+        return BookFacetResponse.builder()
+                .books(PageResponse.of(books, books.getContent().stream().map(BookResponse::from).toList()))
+                .authors(result.facets().get(FacetField.AUTHOR))
+                .publishers(result.facets().get(FacetField.PUBLISHER))
+                .priceBands(result.facets().get(FacetField.PRICE_BAND))
+                .years(result.facets().get(FacetField.YEAR))
+                .build();
+    }
+
+    private Set<String> toSet(List<String> values) {
+        return values == null ? Set.of() : values.stream()
+                .filter(this::hasText)
+                .collect(Collectors.toSet());
+    }
+
+    // Public: Autocomplete suggestions (in-memory only)
+    public List<BookSuggestionResponse> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return bookSearchIndex.suggest(prefix.strip(), size).stream()
+                .map(BookSuggestionResponse::from)
+                .toList();
+    }
+
+    // Public: 베스트셀러/급상승. 미리 정렬된 순위에서 잘라 도서 정보를 IN 조회 한 번으로 붙인다 (삭제된 도서는 건너뜀)
+    public List<BookRankingResponse> getRanking(RankingType type, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_RANKING_SIZE));
+        List<ScoredHit> hits = bookSalesRanking.top(type);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> books = bookRepository.findByIdInAndDeletedFalse(hits.stream().map(ScoredHit::id).toList())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+
+        List<BookRankingResponse> result = new ArrayList<>();
+        for (ScoredHit hit : hits) {
+            Book book = books.get(hit.id());
+            if (book != null) {
+                result.add(BookRankingResponse.of(result.size() + 1, book, hit.score()));
+                if (result.size() == size) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Public: Get books with cursor (keyset) pagination
+    public CursorResponse<BookResponse> getBooksByCursor(String keyword, String author, String publisher,
+                                                         String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        // 오프셋 모드와 같은 우선순위(keyword > author > publisher)로 하나의 조건만 적용
+        String keywordFilter = hasText(keyword) ? keyword : null;
+        String authorFilter = keywordFilter == null && hasText(author) ? author : null;
+        String publisherFilter = keywordFilter == null && authorFilter == null && hasText(publisher) ? publisher : null;
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<Book> books;
+        if (hasText(cursor)) {
+            String[] parts = Cursor.decode(cursor, 2);
+            LocalDateTime createdAt;
+            Long id;
+            try {
+                createdAt = LocalDateTime.parse(parts[0]);
+                id = Long.parseLong(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM);
+            }
+            books = bookRepository.findSliceAfter(keywordFilter, authorFilter, publisherFilter, createdAt, id, limit);
+        } else {
+            books = bookRepository.findFirstSlice(keywordFilter, authorFilter, publisherFilter, limit);
+        }
+
+        boolean hasNext = books.size() > pageSize;
+        List<Book> page = hasNext ? books.subList(0, pageSize) : books;
+        String nextCursor = null;
+        if (hasNext) {
+            Book last = page.get(page.size() - 1);
+            nextCursor = Cursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return CursorResponse.of(page.stream().map(BookResponse::from).toList(), pageSize, nextCursor);
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
     // Admin: Update book
     @Transactional
     public LocalDateTime updateBook(Long bookId, BookRequest request) {
@@ -97,6 +329,7 @@ public class BookService {
         book.setPublicationDate(request.getPublicationDate());
 
         bookRepository.save(book);
+        bookSearchIndex.index(book);
         return LocalDateTime.now();
     }
 
@@ -107,20 +340,47 @@ public class BookService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
         book.setDeleted(true);
         bookRepository.save(book);
+        bookSearchIndex.remove(bookId);
     }
 
-    // Public: Get book rating
+    // Public: Get book rating (집계 테이블 PK 조회 한 번)
     public BookRatingResponse getBookRating(Long bookId) {
-        Book book = bookRepository.findByIdAndDeletedFalse(bookId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
+        BookRatingStats stats = bookRatingService.findActive(bookId)
+                .orElseGet(() -> {
+                    // 집계 행이 아직 없는 도서: 리뷰 테이블에서 직접 계산 (보정 작업이 곧 행을 만든다)
+                    bookRepository.findByIdAndDeletedFalse(bookId)
+                            .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
+                    return bookRatingService.computeFromReviews(bookId);
+                });
 
-        Double averageRating = reviewRepository.getAverageRatingByBookId(bookId);
-        Long reviewCount = reviewRepository.countByBookId(bookId);
+        return BookRatingResponse.from(stats);
+    }
 
-        return BookRatingResponse.builder()
-                .bookId(bookId)
-                .averageRating(averageRating != null ? Math.round(averageRating * 10) / 10.0 : 0.0)
-                .reviewCount(reviewCount)
-                .build();
+    // Public: Get ratings of several books at once (요청 순서 유지, 없는/삭제된 도서는 제외)
+    public List<BookRatingResponse> getBookRatings(List<Long> bookIds) {
+        List<Long> ids = bookIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.size() > MAX_BULK_RATING_IDS) {
+            throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM,
+                    "한 번에 최대 " + MAX_BULK_RATING_IDS + "권까지 조회할 수 있습니다");
+        }
+        Map<Long, BookRatingStats> stats = bookRatingService.findActiveByIds(ids);
+        return ids.stream()
+                .filter(stats::containsKey)
+                .map(id -> BookRatingResponse.from(stats.get(id)))
+                .toList();
+    }
+
+    // 목록 응답에 평점을 채운다 (페이지 크기와 무관하게 쿼리 수 고정)
+    public void embedRatings(List<BookResponse> books) {
+        Map<Long, BookRatingStats> stats = bookRatingService.findActiveByIds(
+                books.stream().map(BookResponse::getBookId).toList());
+        for (BookResponse book : books) {
+            BookRatingStats bookStats = stats.get(book.getBookId());
+            if (bookStats != null) {
+                BookRatingResponse rating = BookRatingResponse.from(bookStats);
+                book.setAverageRating(rating.getAverageRating());
+                book.setReviewCount(rating.getReviewCount());
+            }
+        }
     }
 }
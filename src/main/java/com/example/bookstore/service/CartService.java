@@ -1,5 +1,6 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.cart.CartWriteBehind;
 import com.example.bookstore.dto.cart.CartItemRequest;
 import com.example.bookstore.dto.cart.CartItemResponse;
 import com.example.bookstore.entity.Book;
@@ -16,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -25,49 +27,33 @@ public class CartService {
     private final CartRepository cartRepository;
     private final CartItemRepository cartItemRepository;
     private final BookRepository bookRepository;
+    // cart.store=memory|redis 일 때만 존재 (write-behind 모드)
+    private final Optional<CartWriteBehind> writeBehind;
 
-    // Get or create cart for user
-    private Cart getOrCreateCart(User user) {
-        return cartRepository.findByUser(user)
-                .orElseGet(() -> {
-                    Cart cart = Cart.builder()
-                            .user(user)
-                            .build();
-                    return cartRepository.save(cart);
-                });
-    }
-
+    // 조회 1번 + upsert 1번. 읽고-더하고-저장하지 않으므로 동시에 담아도 수량이 유실되지 않는다
     @Transactional
     public Long addCartItem(User user, CartItemRequest request) {
-        Cart cart = getOrCreateCart(user);
-
-        Book book = bookRepository.findByIdAndDeletedFalse(request.getBookId())
-                .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
-
-        // Check if item already exists
-        CartItem existingItem = cartItemRepository.findByCartAndBookAndDeletedFalse(cart, book)
-                .orElse(null);
-
-        if (existingItem != null) {
-            // Update quantity
-            existingItem.setQuantity(existingItem.getQuantity() + request.getQuantity());
-            cartItemRepository.save(existingItem);
-            return cart.getId();
+        if (writeBehind.isPresent()) {
+            if (!bookRepository.existsByIdAndDeletedFalse(request.getBookId())) {
+                throw new BusinessException(ErrorCode.BOOK_NOT_FOUND);
+            }
+            return writeBehind.get().add(user.getId(), request.getBookId(), request.getQuantity());
         }
 
-        // Create new cart item
-        CartItem cartItem = CartItem.builder()
-                .cart(cart)
-                .book(book)
-                .quantity(request.getQuantity())
-                .build();
-        cartItemRepository.save(cartItem);
-
-        return cart.getId();
+        Long cartId = cartRepository.findOrCreateIdByUserId(user.getId());
+        if (cartItemRepository.upsertQuantity(cartId, request.getBookId(), request.getQuantity()) == 0) {
+            throw new BusinessException(ErrorCode.BOOK_NOT_FOUND);
+        }
+        return cartId;
     }
 
     @Transactional
     public Long updateCartItemQuantity(User user, CartItemRequest request) {
+        if (writeBehind.isPresent()) {
+            return writeBehind.get().update(user.getId(), request.getBookId(), request.getQuantity())
+                    .orElseThrow(() -> new BusinessException(ErrorCode.CART_ITEM_NOT_FOUND));
+        }
+
         Cart cart = cartRepository.findByUser(user)
                 .orElseThrow(() -> new BusinessException(ErrorCode.CART_NOT_FOUND));
 
@@ -83,21 +69,35 @@ public class CartService {
         return cart.getId();
     }
 
+    // write-behind 모드에서는 id가 없는 새 항목을 먼저 DB에 반영하므로 쓰기 트랜잭션
+    @Transactional
     public List<CartItemResponse> getCartItems(User user) {
-        Cart cart = cartRepository.findByUser(user)
-                .orElse(null);
-
-        if (cart == null) {
-            return List.of();
+        if (writeBehind.isPresent()) {
+            return writeBehind.get().items(user.getId()).stream()
+                    .map(entry -> CartItemResponse.builder()
+                            .cartItemId(entry.getValue().itemId())
+                            .bookId(entry.getKey())
+                            .quantity(entry.getValue().quantity())
+                            .build())
+                    .toList();
         }
 
-        return cartItemRepository.findByCartAndDeletedFalse(cart).stream()
+        // 장바구니가 없으면 빈 목록
+        return cartItemRepository.findByCartUserIdAndDeletedFalse(user.getId()).stream()
                 .map(CartItemResponse::from)
                 .toList();
     }
 
     @Transactional
     public void deleteCartItem(User user, Long cartItemId) {
+        if (writeBehind.isPresent()) {
+            // 자기 장바구니에서만 찾으므로 남의 항목 id는 없는 항목으로 취급된다
+            Long bookId = writeBehind.get().findBookIdByItemId(user.getId(), cartItemId)
+                    .orElseThrow(() -> new BusinessException(ErrorCode.CART_ITEM_NOT_FOUND));
+            writeBehind.get().remove(user.getId(), bookId);
+            return;
+        }
+
         Cart cart = cartRepository.findByUser(user)
                 .orElseThrow(() -> new BusinessException(ErrorCode.CART_NOT_FOUND));
 
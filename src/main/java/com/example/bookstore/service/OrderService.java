@@ -1,25 +1,35 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.cart.CartWriteBehind;
 import com.example.bookstore.dto.PageResponse;
 import com.example.bookstore.dto.order.OrderRequest;
 import com.example.bookstore.dto.order.OrderResponse;
 import com.example.bookstore.entity.Book;
+import com.example.bookstore.entity.CartItem;
 import com.example.bookstore.entity.Order;
 import com.example.bookstore.entity.OrderItem;
 import com.example.bookstore.entity.User;
+import com.example.bookstore.event.OrderCreatedEvent;
 import com.example.bookstore.exception.BusinessException;
 import com.example.bookstore.exception.ErrorCode;
 import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.CartItemRepository;
 import com.example.bookstore.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,39 +38,115 @@ public class OrderService {
 
     private final OrderRepository orderRepository;
     private final BookRepository bookRepository;
+    private final CartItemRepository cartItemRepository;
+    private final Optional<CartWriteBehind> cartWriteBehind;
+    private final SalesRollupService salesRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Long createOrder(User user, OrderRequest request) {
-        List<OrderItem> orderItems = new ArrayList<>();
-        int totalAmount = 0;
+        Map<Long, Book> books = findOrderableBooks(request.getItems().stream()
+                .map(OrderRequest.OrderItemRequest::getBookId)
+                .toList());
+
+        Order order = newOrder(user);
+        for (OrderRequest.OrderItemRequest itemRequest : request.getItems()) {
+            addItem(order, books.get(itemRequest.getBookId()), itemRequest.getQuantity());
+        }
+
+        Order saved = orderRepository.save(order);
+        salesRollupService.onOrderCreated(saved);
+        publishCreated(saved);
+        return saved.getId();
+    }
+
+    // 장바구니 전체를 한 트랜잭션에서 주문으로 전환하고 장바구니 항목은 UPDATE 한 번으로 비운다
+    @Transactional
+    public Long checkout(User user) {
+        // write-behind 모드면 저장소의 최신 장바구니를 먼저 같은 트랜잭션으로 DB에 반영
+        long flushedVersion = cartWriteBehind.map(writeBehind -> writeBehind.flush(user.getId())).orElse(-1L);
+
+        List<CartItem> cartItems = cartItemRepository.findForCheckout(user.getId());
+        if (cartItems.isEmpty()) {
+            throw new BusinessException(ErrorCode.CART_EMPTY);
+        }
 
-        Order order = Order.builder()
+        List<Long> unavailable = cartItems.stream()
+                .map(CartItem::getBook)
+                .filter(Book::getDeleted)
+                .map(Book::getId)
+                .distinct()
+                .toList();
+        if (!unavailable.isEmpty()) {
+            throw new BusinessException(ErrorCode.BOOK_NOT_FOUND,
+                    ErrorCode.BOOK_NOT_FOUND.getMessage() + ": " + unavailable);
+        }
+
+        Order order = newOrder(user);
+        for (CartItem cartItem : cartItems) {
+            addItem(order, cartItem.getBook(), cartItem.getQuantity());
+        }
+        Long orderId = orderRepository.save(order).getId();
+        salesRollupService.onOrderCreated(order);
+        publishCreated(order);
+
+        List<Long> cartItemIds = cartItems.stream().map(CartItem::getId).toList();
+        if (cartItemRepository.softDeleteByIdIn(cartItemIds) != cartItemIds.size()) {
+            // 같은 장바구니를 다른 요청이 먼저 결제했거나 항목을 지웠다
+            throw new BusinessException(ErrorCode.STATE_CONFLICT, "장바구니가 변경되었습니다. 다시 시도해 주세요");
+        }
+        if (cartWriteBehind.isPresent() && !cartWriteBehind.get().clearAfterCheckout(user.getId(), flushedVersion)) {
+            // flush 이후 저장소에 새 변경이 들어왔다
+            throw new BusinessException(ErrorCode.STATE_CONFLICT, "장바구니가 변경되었습니다. 다시 시도해 주세요");
+        }
+        return orderId;
+    }
+
+    // 판매 순위 등 후속 처리는 커밋 후 이벤트로 (BookSalesRanking)
+    private void publishCreated(Order order) {
+        Map<Long, Integer> quantities = order.getItems().stream()
+                .collect(Collectors.toMap(item -> item.getBook().getId(), OrderItem::getQuantity, Integer::sum));
+        eventPublisher.publishEvent(new OrderCreatedEvent(order.getId(), quantities));
+    }
+
+    private Order newOrder(User user) {
+        return Order.builder()
                 .user(user)
                 .status(Order.OrderStatus.CREATED)
                 .totalAmount(0)
                 .build();
+    }
 
-        for (OrderRequest.OrderItemRequest itemRequest : request.getItems()) {
-            Book book = bookRepository.findByIdAndDeletedFalse(itemRequest.getBookId())
-                    .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
-
-            int itemPrice = book.getPrice() * itemRequest.getQuantity();
-            totalAmount += itemPrice;
-
-            OrderItem orderItem = OrderItem.builder()
-                    .order(order)
-                    .book(book)
-                    .quantity(itemRequest.getQuantity())
-                    .price(itemPrice)
-                    .build();
+    // 가격은 주문 시점의 도서 가격으로 고정
+    private void addItem(Order order, Book book, int quantity) {
+        int itemPrice = book.getPrice() * quantity;
+        order.getItems().add(OrderItem.builder()
+                .order(order)
+                .book(book)
+                .quantity(quantity)
+                .price(itemPrice)
+                .build());
+        order.setTotalAmount(order.getTotalAmount() + itemPrice);
+    }
 
-            orderItems.add(orderItem);
+    // 주문에 필요한 도서를 IN 쿼리 한 번으로 읽고, 없거나 삭제된 도서 id는 모아서 한 번에 알린다
+    private Map<Long, Book> findOrderableBooks(List<Long> bookIds) {
+        Set<Long> ids = new LinkedHashSet<>(bookIds);
+        if (ids.contains(null)) {
+            throw new BusinessException(ErrorCode.VALIDATION_FAILED, "도서 id는 필수입니다");
         }
 
-        order.setTotalAmount(totalAmount);
-        order.setItems(orderItems);
+        Map<Long, Book> books = bookRepository.findByIdInAndDeletedFalse(ids).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
 
-        return orderRepository.save(order).getId();
+        List<Long> missing = ids.stream()
+                .filter(id -> !books.containsKey(id))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessException(ErrorCode.BOOK_NOT_FOUND,
+                    ErrorCode.BOOK_NOT_FOUND.getMessage() + ": " + missing);
+        }
+        return books;
     }
 
     public OrderResponse getOrder(User user, Long orderId) {
@@ -82,20 +168,40 @@ public class OrderService {
                 .toList());
     }
 
+    // 성공하면 조건부 UPDATE 한 번으로 끝난다. 실패했을 때만 주문을 읽어 이유를 구분
     @Transactional
     public LocalDateTime updateOrderStatus(User user, Long orderId, Order.OrderStatus status) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.ORDER_NOT_FOUND));
-
-        // Check ownership or admin
-        if (!order.getUser().getId().equals(user.getId()) && user.getRole() != User.Role.ROLE_ADMIN) {
-            throw new BusinessException(ErrorCode.FORBIDDEN);
+        boolean admin = user.getRole() == User.Role.ROLE_ADMIN;
+        // 일반 사용자는 자기 주문 취소만 가능
+        if (!admin && status != Order.OrderStatus.CANCELLED) {
+            throw new BusinessException(ErrorCode.FORBIDDEN, "주문 취소만 할 수 있습니다");
         }
 
-        order.setStatus(status);
-        orderRepository.save(order);
+        // 지금 전이표에서는 이전 상태가 하나뿐이라 UPDATE 한 번. 어느 상태에서 바뀌었는지 알아야 매출 집계를 옮길 수 있다
+        LocalDateTime now = LocalDateTime.now();
+        for (Order.OrderStatus from : status.allowedSources()) {
+            if (orderRepository.updateStatus(orderId, admin ? null : user.getId(), from, status, now) == 1) {
+                salesRollupService.onOrderStatusChanged(orderId, from, status);
+                return now;
+            }
+        }
+        throw statusUpdateFailure(user, admin, orderId, status);
+    }
 
-        return LocalDateTime.now();
+    private BusinessException statusUpdateFailure(User user, boolean admin, Long orderId, Order.OrderStatus status) {
+        Order order = orderRepository.findById(orderId).orElse(null);
+        if (order == null) {
+            return new BusinessException(ErrorCode.ORDER_NOT_FOUND);
+        }
+        if (!admin && !order.getUser().getId().equals(user.getId())) {
+            return new BusinessException(ErrorCode.FORBIDDEN);
+        }
+        if (!order.getStatus().canTransitionTo(status)) {
+            return new BusinessException(ErrorCode.STATE_CONFLICT,
+                    "주문 상태를 " + order.getStatus() + "에서 " + status + "(으)로 변경할 수 없습니다");
+        }
+        // 읽는 사이 다른 요청이 먼저 바꿨다
+        return new BusinessException(ErrorCode.STATE_CONFLICT, "주문 상태가 변경되었습니다. 다시 시도해 주세요");
     }
 
     // Admin: Get all orders
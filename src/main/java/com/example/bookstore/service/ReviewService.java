@@ -1,8 +1,11 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.dto.Cursor;
+import com.example.bookstore.dto.CursorResponse;
 import com.example.bookstore.dto.review.MyReviewsResponse;
 import com.example.bookstore.dto.review.ReviewRequest;
 import com.example.bookstore.dto.review.ReviewResponse;
+import com.example.bookstore.dto.review.ReviewSort;
 import com.example.bookstore.entity.Book;
 import com.example.bookstore.entity.Review;
 import com.example.bookstore.entity.User;
@@ -11,10 +14,14 @@ import com.example.bookstore.exception.ErrorCode;
 import com.example.bookstore.repository.BookRepository;
 import com.example.bookstore.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @Service
@@ -24,6 +31,13 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
     private final BookRepository bookRepository;
+    private final BookRatingService bookRatingService;
+
+    @Value("${review.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${review.page.max-size:50}")
+    private int maxPageSize;
 
     @Transactional
     public Long createReview(User user, Long bookId, ReviewRequest request) {
@@ -42,18 +56,24 @@ public class ReviewService {
                 .comment(request.getComment())
                 .build();
 
-        return reviewRepository.save(review).getId();
+        Long reviewId = reviewRepository.save(review).getId();
+        bookRatingService.onReviewCreated(book.getId(), review.getRating());
+        return reviewId;
     }
 
-    public MyReviewsResponse getMyReviews(User user) {
-        List<Review> reviews = reviewRepository.findByUserAndDeletedFalse(user);
+    public MyReviewsResponse getMyReviews(User user, String sort, String cursor, Integer size) {
+        ReviewSort reviewSort = ReviewSort.from(sort);
+        CursorResponse<ReviewResponse> page = seek(reviewSort, cursor, size,
+                (rating, createdAt, id, limit) -> reviewSort == ReviewSort.RATING
+                        ? reviewRepository.findUserReviewsByRating(user.getId(), rating, createdAt, id, limit)
+                        : reviewRepository.findUserReviewsNewest(user.getId(), createdAt, id, limit));
 
         return MyReviewsResponse.builder()
                 .userId(user.getId())
-                .reviewCount(reviews.size())
-                .reviews(reviews.stream()
-                        .map(ReviewResponse::from)
-                        .toList())
+                .reviewCount((int) reviewRepository.countByUserId(user.getId()))
+                .reviews(page.getContent())
+                .hasNext(page.isHasNext())
+                .nextCursor(page.getNextCursor())
                 .build();
     }
 
@@ -63,13 +83,56 @@ public class ReviewService {
         return ReviewResponse.from(review);
     }
 
-    public List<ReviewResponse> getBookReviews(Long bookId) {
-        Book book = bookRepository.findByIdAndDeletedFalse(bookId)
+    public CursorResponse<ReviewResponse> getBookReviews(Long bookId, String sort, String cursor, Integer size) {
+        bookRepository.findByIdAndDeletedFalse(bookId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.BOOK_NOT_FOUND));
 
-        return reviewRepository.findByBookAndDeletedFalse(book).stream()
-                .map(ReviewResponse::from)
-                .toList();
+        ReviewSort reviewSort = ReviewSort.from(sort);
+        return seek(reviewSort, cursor, size,
+                (rating, createdAt, id, limit) -> reviewSort == ReviewSort.RATING
+                        ? reviewRepository.findBookReviewsByRating(bookId, rating, createdAt, id, limit)
+                        : reviewRepository.findBookReviewsNewest(bookId, createdAt, id, limit));
+    }
+
+    /**
+     * 커서 페이지네이션 공통 처리. 커서는 (정렬, 평점, 작성 시각, ID) 이며 첫 페이지는 모든 리뷰보다 "앞선" 값으로 시작한다.
+     * size + 1 건을 읽어 다음 페이지 유무를 판단하므로 COUNT 쿼리가 없다.
+     */
+    private CursorResponse<ReviewResponse> seek(ReviewSort sort, String cursor, Integer size, SeekQuery query) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+
+        int rating = Integer.MAX_VALUE;
+        LocalDateTime createdAt = LocalDateTime.of(9999, 12, 31, 0, 0);
+        long id = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isEmpty()) {
+            String[] parts = Cursor.decode(cursor, 4);
+            try {
+                if (ReviewSort.valueOf(parts[0]) != sort) {
+                    throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM, "커서와 정렬 기준이 다릅니다");
+                }
+                rating = Integer.parseInt(parts[1]);
+                createdAt = LocalDateTime.parse(parts[2]);
+                id = Long.parseLong(parts[3]);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new BusinessException(ErrorCode.INVALID_QUERY_PARAM);
+            }
+        }
+
+        List<Review> reviews = query.find(rating, createdAt, id, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = reviews.size() > pageSize;
+        List<Review> page = hasNext ? reviews.subList(0, pageSize) : reviews;
+        String nextCursor = null;
+        if (hasNext) {
+            Review last = page.get(page.size() - 1);
+            nextCursor = Cursor.encode(sort, last.getRating(), last.getCreatedAt(), last.getId());
+        }
+
+        return CursorResponse.of(page.stream().map(ReviewResponse::from).toList(), pageSize, nextCursor);
+    }
+
+    @FunctionalInterface
+    private interface SeekQuery {
+        List<Review> find(Integer rating, LocalDateTime createdAt, Long id, Pageable limit);
     }
 
     @Transactional
@@ -82,10 +145,12 @@ public class ReviewService {
             throw new BusinessException(ErrorCode.FORBIDDEN);
         }
 
+        int oldRating = review.getRating();
         review.setRating(request.getRating());
         review.setComment(request.getComment());
 
         reviewRepository.save(review);
+        bookRatingService.onReviewUpdated(review.getBook().getId(), oldRating, review.getRating());
         return LocalDateTime.now();
     }
 
@@ -101,5 +166,6 @@ public class ReviewService {
 
         review.setDeleted(true);
         reviewRepository.save(review);
+        bookRatingService.onReviewDeleted(review.getBook().getId(), review.getRating());
     }
 }
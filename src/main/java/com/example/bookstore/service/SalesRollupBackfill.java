@@ -0,0 +1,96 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.repository.OrderRepository;
+import com.example.bookstore.repository.SalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 매출 집계 재계산 작업.
+ * 시작 시 집계가 비어 있으면(이 기능 이전 주문) 첫 주문 날짜부터 오늘까지 채우고,
+ * 관리자 API로 특정 기간을 다시 만들 수 있다.
+ *
+ * 오늘 집계는 주문의 증분 upsert와 겹치므로(재생성한 행 INSERT가 유니크 키와 충돌하거나 주문이 두 번 더해짐)
+ * 요청을 받기 전인 시작 시에만 다시 만들고, 관리자 재계산은 어제까지만 허용한다.
+ * 관리자 재계산은 요청 스레드를 잡지 않도록 전용 스레드 하나에서 한 번에 하나만 돌린다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SalesRollupBackfill implements SmartInitializingSingleton, DisposableBean {
+
+    private final SalesRollupService salesRollupService;
+    private final SalesRollupRepository salesRollupRepository;
+    private final OrderRepository orderRepository;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "sales-rollup-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 웹 서버가 뜨기 전(모든 빈 생성 직후)에 실행되므로 오늘 주문의 증분 갱신과 겹치지 않는다
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (salesRollupRepository.count() > 0) {
+            return;
+        }
+        orderRepository.findFirstCreatedAt().ifPresent(first -> {
+            int orders = backfill(first.toLocalDate(), LocalDate.now());
+            log.info("Sales rollups backfilled from {}: {} orders", first.toLocalDate(), orders);
+        });
+    }
+
+    /**
+     * from ~ to (날짜 포함) 재계산을 백그라운드로 시작한다. to는 어제 이전이어야 한다.
+     *
+     * @return 이미 재계산 중이면 false
+     */
+    public boolean start(LocalDate from, LocalDate to) {
+        if (!to.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot rebuild rollups of today or later: " + to);
+        }
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        executor.execute(() -> {
+            try {
+                int orders = backfill(from, to);
+                log.info("Sales rollups rebuilt for {} ~ {}: {} orders", from, to, orders);
+            } catch (RuntimeException e) {
+                log.error("Sales rollup backfill failed for {} ~ {}", from, to, e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * from ~ to (날짜 포함)를 하루씩 다시 만든다. 오늘이 포함되면 주문을 받지 않는 동안에만 호출한다.
+     *
+     * @return 반영한 주문 수
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        int orders = 0;
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            // 하루마다 별도 트랜잭션 (읽는 주문과 잠그는 집계 행을 하루치로 제한)
+            orders += salesRollupService.rebuildDay(date);
+        }
+        return orders;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
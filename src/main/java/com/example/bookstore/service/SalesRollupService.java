@@ -0,0 +1,203 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.analytics.SalesSummaryResponse;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.entity.BookSalesRollup;
+import com.example.bookstore.entity.Order;
+import com.example.bookstore.entity.OrderItem;
+import com.example.bookstore.entity.SalesRollup;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.BookSalesRollupRepository;
+import com.example.bookstore.repository.OrderItemRepository;
+import com.example.bookstore.repository.OrderRepository;
+import com.example.bookstore.repository.SalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 매출 집계(SalesRollup, BookSalesRollup) 관리.
+ * 주문 변경은 시간/일 구간 행에 증분 upsert로 반영하고, 조회는 기간을 시간/일 구간으로 나눠 몇 행만 합한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class SalesRollupService {
+
+    private final SalesRollupRepository salesRollupRepository;
+    private final BookSalesRollupRepository bookSalesRollupRepository;
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final BookRepository bookRepository;
+
+    // 저장된 주문(항목 포함)을 생성 시각 구간에 더한다
+    @Transactional
+    public void onOrderCreated(Order order) {
+        LocalDateTime hour = order.getCreatedAt().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime day = order.getCreatedAt().truncatedTo(ChronoUnit.DAYS);
+        long units = order.getItems().stream().mapToLong(OrderItem::getQuantity).sum();
+
+        salesRollupRepository.add(hour, day, order.getStatus().name(), 1, order.getTotalAmount(), units);
+        if (order.getStatus() != Order.OrderStatus.CANCELLED) {
+            bookSalesRollupRepository.addOrderItems(order.getId(), hour, day, 1);
+        }
+    }
+
+    // 주문을 이전 상태 행에서 빼서 새 상태 행으로 옮긴다. 취소로 바뀌면 도서별 판매에서도 뺀다
+    @Transactional
+    public void onOrderStatusChanged(Long orderId, Order.OrderStatus from, Order.OrderStatus to) {
+        OrderRepository.OrderSales sales = orderRepository.findSalesById(orderId).orElse(null);
+        if (sales == null) {
+            return;
+        }
+        LocalDateTime hour = sales.getCreatedAt().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime day = sales.getCreatedAt().truncatedTo(ChronoUnit.DAYS);
+        long revenue = sales.getTotalAmount();
+
+        salesRollupRepository.add(hour, day, from.name(), -1, -revenue, -sales.getUnits());
+        salesRollupRepository.add(hour, day, to.name(), 1, revenue, sales.getUnits());
+
+        boolean wasCounted = from != Order.OrderStatus.CANCELLED;
+        boolean isCounted = to != Order.OrderStatus.CANCELLED;
+        if (wasCounted != isCounted) {
+            bookSalesRollupRepository.addOrderItems(orderId, hour, day, isCounted ? 1 : -1);
+        }
+    }
+
+    /**
+     * 기간 [from, to) 매출 요약. 두 값 모두 시 단위로 내림한다.
+     * 집계 쿼리 두 번 + 도서 제목 조회 한 번이며 읽는 행 수는 기간 길이와 거의 무관하다.
+     */
+    public SalesSummaryResponse getSummary(LocalDateTime from, LocalDateTime to, int top) {
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS);
+        // 가운데 온전한 날들은 일 구간, 앞뒤 자투리는 시간 구간
+        LocalDateTime dayFrom = start.equals(start.truncatedTo(ChronoUnit.DAYS))
+                ? start : start.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        LocalDateTime dayTo = end.truncatedTo(ChronoUnit.DAYS);
+        if (!dayFrom.isBefore(dayTo)) {
+            dayFrom = end;
+            dayTo = end;
+        }
+
+        List<SalesSummaryResponse.StatusSales> byStatus = new ArrayList<>();
+        long orderCount = 0;
+        long revenue = 0;
+        long units = 0;
+        for (SalesRollupRepository.StatusTotal total : salesRollupRepository.sumByStatus(start, dayFrom, dayTo, end)) {
+            byStatus.add(SalesSummaryResponse.StatusSales.builder()
+                    .status(total.getStatus().name())
+                    .orderCount(total.getOrderCount())
+                    .revenue(total.getRevenue())
+                    .units(total.getUnits())
+                    .build());
+            if (total.getStatus() != Order.OrderStatus.CANCELLED) {
+                orderCount += total.getOrderCount();
+                revenue += total.getRevenue();
+                units += total.getUnits();
+            }
+        }
+
+        List<BookSalesRollupRepository.BookTotal> bookTotals =
+                bookSalesRollupRepository.sumByBook(start, dayFrom, dayTo, end, PageRequest.of(0, top));
+        Map<Long, String> titles = bookRepository.findAllById(bookTotals.stream()
+                        .map(BookSalesRollupRepository.BookTotal::getBookId)
+                        .toList()).stream()
+                .collect(Collectors.toMap(Book::getId, Book::getTitle));
+        List<SalesSummaryResponse.BookSales> topBooks = bookTotals.stream()
+                .map(total -> SalesSummaryResponse.BookSales.builder()
+                        .bookId(total.getBookId())
+                        .title(titles.get(total.getBookId()))
+                        .units(total.getUnits())
+                        .revenue(total.getRevenue())
+                        .build())
+                .toList();
+
+        return SalesSummaryResponse.builder()
+                .from(start)
+                .to(end)
+                .orderCount(orderCount)
+                .revenue(revenue)
+                .units(units)
+                .byStatus(byStatus)
+                .topBooks(topBooks)
+                .build();
+    }
+
+    /**
+     * 하루치 집계를 주문 테이블 기준으로 지우고 다시 만든다.
+     * 같은 날 들어오는 주문의 증분 갱신과 겹치면 집계가 어긋나므로 오늘 날짜는 요청을 받기 전에만 돌린다
+     * ({@link SalesRollupBackfill}).
+     *
+     * @return 반영한 주문 수
+     */
+    @Transactional
+    public int rebuildDay(LocalDate date) {
+        LocalDateTime from = date.atStartOfDay();
+        LocalDateTime to = from.plusDays(1);
+        salesRollupRepository.deleteByBucketStartRange(from, to);
+        bookSalesRollupRepository.deleteByBucketStartRange(from, to);
+
+        List<OrderRepository.OrderSales> orders = orderRepository.findSalesBetween(from, to);
+        Map<String, SalesRollup> rollups = new HashMap<>();
+        for (OrderRepository.OrderSales order : orders) {
+            LocalDateTime hour = order.getCreatedAt().truncatedTo(ChronoUnit.HOURS);
+            for (SalesRollup rollup : List.of(
+                    rollup(rollups, SalesRollup.Granularity.HOUR, hour, order.getStatus()),
+                    rollup(rollups, SalesRollup.Granularity.DAY, from, order.getStatus()))) {
+                rollup.setOrderCount(rollup.getOrderCount() + 1);
+                rollup.setRevenue(rollup.getRevenue() + order.getTotalAmount());
+                rollup.setUnits(rollup.getUnits() + order.getUnits());
+            }
+        }
+
+        Map<String, BookSalesRollup> bookRollups = new HashMap<>();
+        for (OrderItemRepository.BookSale sale
+                : orderItemRepository.findBookSalesBetween(from, to, Order.OrderStatus.CANCELLED)) {
+            LocalDateTime hour = sale.getCreatedAt().truncatedTo(ChronoUnit.HOURS);
+            for (BookSalesRollup rollup : List.of(
+                    bookRollup(bookRollups, SalesRollup.Granularity.HOUR, hour, sale.getBookId()),
+                    bookRollup(bookRollups, SalesRollup.Granularity.DAY, from, sale.getBookId()))) {
+                rollup.setUnits(rollup.getUnits() + sale.getQuantity());
+                rollup.setRevenue(rollup.getRevenue() + sale.getPrice());
+            }
+        }
+
+        salesRollupRepository.saveAll(rollups.values());
+        bookSalesRollupRepository.saveAll(bookRollups.values());
+        return orders.size();
+    }
+
+    private SalesRollup rollup(Map<String, SalesRollup> rollups, SalesRollup.Granularity granularity,
+                               LocalDateTime bucketStart, Order.OrderStatus status) {
+        return rollups.computeIfAbsent(granularity + "|" + bucketStart + "|" + status, key -> SalesRollup.builder()
+                .granularity(granularity)
+                .bucketStart(bucketStart)
+                .status(status)
+                .orderCount(0L)
+                .revenue(0L)
+                .units(0L)
+                .build());
+    }
+
+    private BookSalesRollup bookRollup(Map<String, BookSalesRollup> rollups, SalesRollup.Granularity granularity,
+                                       LocalDateTime bucketStart, Long bookId) {
+        return rollups.computeIfAbsent(granularity + "|" + bucketStart + "|" + bookId, key -> BookSalesRollup.builder()
+                .granularity(granularity)
+                .bucketStart(bucketStart)
+                .bookId(bookId)
+                .units(0L)
+                .revenue(0L)
+                .build());
+    }
+}
@@ -7,6 +7,8 @@ import com.example.bookstore.entity.User;
 import com.example.bookstore.exception.BusinessException;
 import com.example.bookstore.exception.ErrorCode;
 import com.example.bookstore.repository.UserRepository;
+import com.example.bookstore.security.UserCache;
+import com.example.bookstore.security.VerifiedTokenCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -23,18 +25,26 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCache userCache;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public UserResponse getMyInfo(User user) {
-        return UserResponse.from(user);
+    public UserResponse getMyInfo(User principal) {
+        return UserResponse.from(loadUser(principal));
     }
 
     @Transactional
-    public LocalDateTime updateMyInfo(User user, UserUpdateRequest request) {
+    public LocalDateTime updateMyInfo(User principal, UserUpdateRequest request) {
+        User user = loadUser(principal);
+        userCache.invalidate(user.getEmail());
+
         if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
             if (userRepository.existsByEmail(request.getEmail())) {
                 throw new BusinessException(ErrorCode.DUPLICATE_EMAIL);
             }
+            // 이전 이메일을 subject로 가진 토큰은 더 이상 쓰지 않는다
+            verifiedTokenCache.revokeSubject(user.getEmail());
             user.setEmail(request.getEmail());
+            userCache.invalidate(user.getEmail());
         }
 
         if (request.getPassword() != null) {
@@ -57,6 +67,12 @@ public class UserService {
         return LocalDateTime.now();
     }
 
+    // principal은 토큰 클레임만으로 만든 비영속 객체일 수 있으므로 전체 필드가 필요하면 다시 조회
+    private User loadUser(User principal) {
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+    }
+
     // Admin methods
     public PageResponse<UserResponse> getAllUsers(Pageable pageable) {
         Page<User> users = userRepository.findAll(pageable);
@@ -84,6 +100,8 @@ public class UserService {
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
         user.setRole(role);
         userRepository.save(user);
+        userCache.invalidate(user.getEmail());
+        verifiedTokenCache.revokeSubject(user.getEmail());
     }
 
     @Transactional
@@ -91,5 +109,7 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
         userRepository.delete(user);
+        userCache.invalidate(user.getEmail());
+        verifiedTokenCache.revokeSubject(user.getEmail());
     }
 }
@@ -0,0 +1,119 @@
+package com.example.bookstore.cart;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 모든 CartStore 구현이 지켜야 하는 동작. 구현별 테스트가 상속해 newStore()만 제공한다
+abstract class CartStoreContractTest {
+
+    protected CartStore store;
+
+    protected abstract CartStore newStore();
+
+    @BeforeEach
+    void createStore() {
+        store = newStore();
+    }
+
+    @Test
+    @DisplayName("올라오지 않은 장바구니는 변경하지 않음")
+    void add_NotLoaded_ReturnsFalse() {
+        assertThat(store.add(1L, 10L, 1)).isFalse();
+        assertThat(store.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("이미 올라온 장바구니는 다시 올리지 않음")
+    void loadIfAbsent_KeepsExisting() {
+        store.loadIfAbsent(1L, 100L, Map.of(10L, new CartLine(2, 1000L)));
+        store.add(1L, 10L, 1);
+
+        store.loadIfAbsent(1L, 100L, Map.of());
+
+        CartSnapshot snapshot = store.get(1L);
+        assertThat(snapshot.cartId()).isEqualTo(100L);
+        assertThat(snapshot.lines()).containsEntry(10L, new CartLine(3, 1000L));
+    }
+
+    @Test
+    @DisplayName("연속 변경은 하나의 스냅샷으로 합쳐짐")
+    void mutations_Coalesce() {
+        store.loadIfAbsent(1L, 100L, Map.of());
+
+        store.add(1L, 10L, 1);
+        store.add(1L, 10L, 2);
+        store.add(1L, 20L, 1);
+        store.remove(1L, 20L);
+
+        CartSnapshot snapshot = store.get(1L);
+        assertThat(snapshot.lines()).containsOnlyKeys(10L);
+        assertThat(snapshot.lines().get(10L).quantity()).isEqualTo(3);
+        assertThat(snapshot.dirty()).isTrue();
+        assertThat(store.dirtyUsers()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("담겨 있지 않은 도서는 수정/삭제하지 않고 version도 그대로")
+    void updateAndRemove_Missing_ReturnsFalse() {
+        store.loadIfAbsent(1L, 100L, Map.of());
+
+        assertThat(store.update(1L, 10L, 3)).isFalse();
+        assertThat(store.remove(1L, 10L)).isFalse();
+
+        CartSnapshot snapshot = store.get(1L);
+        assertThat(snapshot.version()).isZero();
+        assertThat(snapshot.dirty()).isFalse();
+    }
+
+    @Test
+    @DisplayName("flush 도중 들어온 변경이 있으면 dirty 유지")
+    void markFlushed_ChangedDuringFlush_StaysDirty() {
+        store.loadIfAbsent(1L, 100L, Map.of());
+        store.add(1L, 10L, 1);
+        CartSnapshot flushing = store.get(1L);
+
+        store.add(1L, 20L, 1);
+        store.markFlushed(1L, flushing.version(), Map.of(10L, 1000L));
+
+        CartSnapshot snapshot = store.get(1L);
+        assertThat(snapshot.dirty()).isTrue();
+        assertThat(snapshot.lines().get(10L).itemId()).isEqualTo(1000L);
+        assertThat(snapshot.lines().get(20L).itemId()).isNull();
+
+        store.markFlushed(1L, snapshot.version(), Map.of(10L, 1000L, 20L, 1001L));
+        assertThat(store.get(1L).dirty()).isFalse();
+        assertThat(store.dirtyUsers()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("flush 중 삭제된 도서의 항목 id는 기록하지 않음")
+    void markFlushed_RemovedDuringFlush_IgnoresItemId() {
+        store.loadIfAbsent(1L, 100L, Map.of());
+        store.add(1L, 10L, 1);
+        long version = store.get(1L).version();
+
+        store.remove(1L, 10L);
+        store.markFlushed(1L, version, Map.of(10L, 1000L));
+
+        assertThat(store.get(1L).lines()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("flush 이후 변경이 있으면 주문 전환 후 비우지 않음")
+    void clearIfUnchanged_ChangedAfterFlush_ReturnsFalse() {
+        store.loadIfAbsent(1L, 100L, Map.of());
+        store.add(1L, 10L, 1);
+        long flushed = store.get(1L).version();
+        store.add(1L, 10L, 1);
+
+        assertThat(store.clearIfUnchanged(1L, flushed)).isFalse();
+        assertThat(store.clearIfUnchanged(1L, store.get(1L).version())).isTrue();
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.dirtyUsers()).isEmpty();
+    }
+}
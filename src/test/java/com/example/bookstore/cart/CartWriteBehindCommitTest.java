@@ -0,0 +1,149 @@
+package com.example.bookstore.cart;
+
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.entity.CartItem;
+import com.example.bookstore.entity.User;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.CartItemRepository;
+import com.example.bookstore.repository.CartRepository;
+import com.example.bookstore.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 커밋/롤백 시점과 동시 flush를 보려면 실제로 커밋해야 하므로 @Transactional 없이 실행하고 직접 정리한다
+@SpringBootTest
+@ActiveProfiles("test")
+class CartWriteBehindCommitTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private CartPersister cartPersister;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    private final InMemoryCartStore store = new InMemoryCartStore(1800);
+
+    private User user;
+    private final List<Book> books = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("writebehind-commit@test.com")
+                .password("password")
+                .name("테스터")
+                .role(User.Role.ROLE_USER)
+                .build());
+        for (int i = 0; i < 2; i++) {
+            books.add(bookRepository.save(Book.builder()
+                    .title("write-behind 커밋 도서 " + i)
+                    .author("저자")
+                    .publisher("출판사")
+                    .isbn("97888" + String.format("%08d", i))
+                    .price(10000)
+                    .publicationDate(LocalDate.of(2023, 1, 1))
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartRepository.findByUserId(user.getId()).ifPresent(cart -> {
+            cartItemRepository.deleteAll(cartItemRepository.findByCartId(cart.getId()));
+            cartRepository.delete(cart);
+        });
+        bookRepository.deleteAll(books);
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("반영한 트랜잭션이 롤백되면 저장소는 dirty로 남고 다음 flush에서 다시 반영")
+    void flush_RolledBack_StaysDirty() {
+        CartWriteBehind writeBehind = new CartWriteBehind(store, cartPersister);
+        Long cartId = writeBehind.add(user.getId(), books.get(0).getId(), 2);
+
+        // 주문 전환이 반영 후 실패한 경우
+        TransactionTemplate checkout = new TransactionTemplate(transactionManager);
+        assertThatThrownBy(() -> checkout.executeWithoutResult(status -> {
+            writeBehind.flush(user.getId());
+            throw new IllegalStateException("checkout failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.get(user.getId()).dirty()).isTrue();
+        assertThat(cartItemRepository.findByCartId(cartId)).isEmpty();
+
+        writeBehind.flushAll();
+
+        assertThat(store.get(user.getId()).dirty()).isFalse();
+        List<CartItem> rows = cartItemRepository.findByCartIdAndDeletedFalse(cartId);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("flush가 겹쳐도 같은 도서를 두 번 INSERT하지 않고 마지막 상태가 반영")
+    void flush_Concurrent_Serialized() throws Exception {
+        CartWriteBehind writeBehind = new CartWriteBehind(store, cartPersister);
+        Long cartId = writeBehind.add(user.getId(), books.get(0).getId(), 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Long bookId = books.get(i % 2).getId();
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ROUNDS; j++) {
+                    writeBehind.add(user.getId(), bookId, 1);
+                    writeBehind.flush(user.getId());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        writeBehind.flushAll();
+
+        assertThat(store.get(user.getId()).dirty()).isFalse();
+        List<CartItem> rows = cartItemRepository.findByCartIdAndDeletedFalse(cartId);
+        assertThat(rows).hasSize(2);
+        assertThat(rows).extracting(CartItem::getQuantity)
+                .containsExactlyInAnyOrder(1 + THREADS / 2 * ROUNDS, THREADS / 2 * ROUNDS);
+    }
+}
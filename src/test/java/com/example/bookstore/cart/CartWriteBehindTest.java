@@ -0,0 +1,137 @@
+package com.example.bookstore.cart;
+
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.entity.CartItem;
+import com.example.bookstore.entity.User;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.CartItemRepository;
+import com.example.bookstore.repository.CartRepository;
+import com.example.bookstore.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 저장소는 직접 만들어 쓰고 DB 반영만 실제 CartPersister로 확인한다
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CartWriteBehindTest {
+
+    @Autowired
+    private CartPersister cartPersister;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User user;
+    private Book book1;
+    private Book book2;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("writebehind@test.com")
+                .password("password")
+                .name("테스터")
+                .role(User.Role.ROLE_USER)
+                .build());
+        book1 = saveBook(1);
+        book2 = saveBook(2);
+    }
+
+    @Test
+    @DisplayName("flush 전에는 DB에 쓰지 않고, flush하면 합쳐진 결과만 반영")
+    void flushAll_WritesCoalescedState() {
+        CartWriteBehind writeBehind = new CartWriteBehind(new InMemoryCartStore(1800), cartPersister);
+
+        Long cartId = writeBehind.add(user.getId(), book1.getId(), 1);
+        writeBehind.add(user.getId(), book1.getId(), 2);
+        writeBehind.add(user.getId(), book2.getId(), 1);
+        writeBehind.remove(user.getId(), book2.getId());
+
+        assertThat(cartItemRepository.findByCartId(cartId)).isEmpty();
+
+        writeBehind.flushAll();
+        entityManager.flush();
+        entityManager.clear();
+
+        // 담았다가 바로 뺀 book2는 INSERT조차 되지 않는다
+        List<CartItem> rows = cartItemRepository.findByCartId(cartId);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getBook().getId()).isEqualTo(book1.getId());
+        assertThat(rows.get(0).getQuantity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("flush 후 저장소를 잃어도 DB에서 같은 장바구니를 복원")
+    void flushAll_SurvivesStoreLoss() {
+        CartWriteBehind writeBehind = new CartWriteBehind(new InMemoryCartStore(1800), cartPersister);
+        writeBehind.add(user.getId(), book1.getId(), 2);
+        writeBehind.add(user.getId(), book2.getId(), 1);
+        writeBehind.flushAll();
+        entityManager.flush();
+        entityManager.clear();
+        List<Map.Entry<Long, CartLine>> before = writeBehind.items(user.getId());
+
+        // 재시작: 빈 저장소로 새로 시작
+        CartWriteBehind restarted = new CartWriteBehind(new InMemoryCartStore(1800), cartPersister);
+
+        assertThat(restarted.items(user.getId())).isEqualTo(before);
+        assertThat(before).extracting(entry -> entry.getValue().itemId()).doesNotContainNull();
+    }
+
+    @Test
+    @DisplayName("수량 변경과 삭제는 기존 행을 고치고 soft delete")
+    void flush_UpdatesExistingRows() {
+        CartWriteBehind writeBehind = new CartWriteBehind(new InMemoryCartStore(1800), cartPersister);
+        Long cartId = writeBehind.add(user.getId(), book1.getId(), 1);
+        writeBehind.add(user.getId(), book2.getId(), 1);
+        writeBehind.flush(user.getId());
+
+        writeBehind.update(user.getId(), book1.getId(), 5);
+        writeBehind.remove(user.getId(), book2.getId());
+        writeBehind.flush(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(cartItemRepository.findByCartId(cartId)).hasSize(2);
+        List<CartItem> live = cartItemRepository.findByCartIdAndDeletedFalse(cartId);
+        assertThat(live).hasSize(1);
+        assertThat(live.get(0).getQuantity()).isEqualTo(5);
+        assertThat(cartRepository.findIdByUserId(user.getId())).contains(cartId);
+    }
+
+    private Book saveBook(int i) {
+        return bookRepository.save(Book.builder()
+                .title("write-behind 도서 " + i)
+                .author("저자")
+                .publisher("출판사")
+                .isbn("97889" + String.format("%08d", i))
+                .price(10000)
+                .publicationDate(LocalDate.of(2023, 1, 1))
+                .build());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.bookstore.cart;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryCartStoreTest extends CartStoreContractTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long IDLE_SECONDS = 60;
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    @Override
+    protected CartStore newStore() {
+        return new InMemoryCartStore(IDLE_SECONDS, now::get);
+    }
+
+    @Test
+    @DisplayName("idle 시간 동안 쓰이지 않은 깨끗한 장바구니는 내림")
+    void evictIdle_RemovesCleanIdleCart() {
+        store.loadIfAbsent(1L, 100L, Map.of(10L, new CartLine(1, 1000L)));
+        store.loadIfAbsent(2L, 200L, Map.of());
+
+        now.addAndGet(30 * SECOND);
+        store.get(2L);
+        now.addAndGet(30 * SECOND);
+        store.evictIdle();
+
+        // 2번은 30초 전에 조회돼 아직 idle이 아니다
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.get(2L)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("반영 전(dirty)인 장바구니는 idle이어도 내리지 않음")
+    void evictIdle_KeepsDirtyCart() {
+        store.loadIfAbsent(1L, 100L, Map.of());
+        store.add(1L, 10L, 1);
+
+        now.addAndGet(IDLE_SECONDS * SECOND);
+        store.evictIdle();
+        assertThat(store.get(1L)).isNotNull();
+
+        store.markFlushed(1L, store.get(1L).version(), Map.of(10L, 1000L));
+        now.addAndGet(IDLE_SECONDS * SECOND);
+        store.evictIdle();
+        assertThat(store.get(1L)).isNull();
+    }
+}
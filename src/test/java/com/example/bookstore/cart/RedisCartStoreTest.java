@@ -0,0 +1,88 @@
+package com.example.bookstore.cart;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Lua 스크립트는 실제 Redis에서만 검증할 수 있으므로 REDIS_HOST(기본 localhost)의 Redis가 없으면 건너뛴다.
+// 다른 데이터를 건드리지 않도록 15번 DB를 비우고 쓴다
+class RedisCartStoreTest extends CartStoreContractTest {
+
+    private static final int TEST_DATABASE = 15;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static boolean available;
+
+    @BeforeAll
+    static void connect() {
+        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(
+                System.getenv().getOrDefault("REDIS_HOST", "localhost"),
+                Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379")));
+        config.setDatabase(TEST_DATABASE);
+        if (System.getenv("REDIS_PASSWORD") != null) {
+            config.setPassword(System.getenv("REDIS_PASSWORD"));
+        }
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .clientOptions(ClientOptions.builder()
+                        .socketOptions(SocketOptions.builder().connectTimeout(Duration.ofSeconds(1)).build())
+                        .build())
+                .build();
+        connectionFactory = new LettuceConnectionFactory(config, clientConfig);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            available = "PONG".equals(connection.ping());
+        } catch (RuntimeException e) {
+            available = false;
+        }
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void flushDatabase() {
+        assumeTrue(available, "Redis not available");
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushDb();
+        }
+    }
+
+    @Override
+    protected CartStore newStore() {
+        return new RedisCartStore(redisTemplate, 60);
+    }
+
+    @Test
+    @DisplayName("TTL로 만료된 장바구니는 조회할 때 dirty 목록에서도 빠짐")
+    void get_Expired_RemovesFromDirty() {
+        store.loadIfAbsent(1L, 100L, Map.of());
+        store.add(1L, 10L, 1);
+        assertThat(store.dirtyUsers()).containsExactly(1L);
+
+        // 만료를 흉내 낸다
+        redisTemplate.delete(List.of("cart:1:qty", "cart:1:id", "cart:1:meta"));
+
+        assertThat(store.get(1L)).isNull();
+        assertThat(store.dirtyUsers()).isEmpty();
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.dto.order.OrderRequest;
+import com.example.bookstore.dto.order.OrderStatusRequest;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.entity.Order;
+import com.example.bookstore.entity.User;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.BookSalesRollupRepository;
+import com.example.bookstore.repository.OrderRepository;
+import com.example.bookstore.repository.SalesRollupRepository;
+import com.example.bookstore.repository.UserRepository;
+import com.example.bookstore.security.JwtTokenProvider;
+import com.example.bookstore.service.SalesRollupBackfill;
+import com.example.bookstore.support.SqlBudget;
+import com.example.bookstore.support.SqlStatementCounter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class AdminAnalyticsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private SalesRollupRepository salesRollupRepository;
+
+    @Autowired
+    private BookSalesRollupRepository bookSalesRollupRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private SalesRollupBackfill salesRollupBackfill;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String userToken;
+    private String adminToken;
+    private Book book1;
+    private Book book2;
+
+    @BeforeEach
+    void setUp() {
+        salesRollupRepository.deleteAll();
+        bookSalesRollupRepository.deleteAll();
+        orderRepository.deleteAll();
+
+        User user = userRepository.save(User.builder()
+                .email("buyer@test.com")
+                .password(passwordEncoder.encode("user123"))
+                .name("구매자")
+                .role(User.Role.ROLE_USER)
+                .build());
+        userToken = jwtTokenProvider.createAccessToken(user.getEmail(), user.getRole().name());
+        User admin = userRepository.save(User.builder()
+                .email("analytics-admin@test.com")
+                .password(passwordEncoder.encode("admin123"))
+                .name("관리자")
+                .role(User.Role.ROLE_ADMIN)
+                .build());
+        adminToken = jwtTokenProvider.createAccessToken(admin.getEmail(), admin.getRole().name());
+
+        book1 = saveBook(1, 10000);
+        book2 = saveBook(2, 20000);
+    }
+
+    @Test
+    @DisplayName("주문 생성과 취소가 매출 요약에 바로 반영된다")
+    void salesSummary_ReflectsOrdersAndCancellation() throws Exception {
+        createOrder(book1, 2);
+        Long cancelled = createOrder(book2, 1);
+        createOrder(book2, 3);
+        cancel(cancelled);
+
+        JsonNode summary = summary(null, null);
+
+        assertThat(summary.path("orderCount").asLong()).isEqualTo(2);
+        assertThat(summary.path("revenue").asLong()).isEqualTo(20000 + 60000);
+        assertThat(summary.path("units").asLong()).isEqualTo(5);
+        assertThat(statusSales(summary, "CREATED").path("orderCount").asLong()).isEqualTo(2);
+        assertThat(statusSales(summary, "CANCELLED").path("orderCount").asLong()).isEqualTo(1);
+        assertThat(statusSales(summary, "CANCELLED").path("revenue").asLong()).isEqualTo(20000);
+
+        JsonNode topBooks = summary.path("topBooks");
+        assertThat(topBooks.get(0).path("bookId").asLong()).isEqualTo(book2.getId());
+        assertThat(topBooks.get(0).path("title").asText()).isEqualTo(book2.getTitle());
+        assertThat(topBooks.get(0).path("units").asLong()).isEqualTo(3);
+        assertThat(topBooks.get(1).path("bookId").asLong()).isEqualTo(book1.getId());
+        assertThat(topBooks.get(1).path("revenue").asLong()).isEqualTo(20000);
+    }
+
+    @Test
+    @DisplayName("일 구간과 시간 구간으로 나눠 합해도 결과가 같다")
+    void salesSummary_SameAcrossGranularities() throws Exception {
+        createOrder(book1, 1);
+        createOrder(book2, 2);
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime today = hour.truncatedTo(ChronoUnit.DAYS);
+
+        // 시간 구간만
+        JsonNode hourly = summary(hour, hour.plusHours(1));
+        // 자투리 시간 + 일 구간 + 자투리 시간
+        JsonNode mixed = summary(today.minusHours(5), today.plusDays(1).plusHours(5));
+        // 범위 밖
+        JsonNode outside = summary(today.minusDays(3), today.minusDays(1));
+
+        assertThat(hourly.path("revenue").asLong()).isEqualTo(50000);
+        assertThat(mixed.path("revenue").asLong()).isEqualTo(50000);
+        assertThat(mixed.path("units").asLong()).isEqualTo(3);
+        assertThat(outside.path("orderCount").asLong()).isZero();
+        assertThat(outside.path("topBooks")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("집계를 잃어도 백필로 주문 테이블에서 다시 만든다")
+    void backfill_RebuildsFromOrders() throws Exception {
+        createOrder(book1, 2);
+        cancel(createOrder(book2, 1));
+        JsonNode before = summary(null, null);
+
+        salesRollupRepository.deleteAll();
+        bookSalesRollupRepository.deleteAll();
+        assertThat(summary(null, null).path("orderCount").asLong()).isZero();
+
+        // 관리자 재계산은 어제까지만 가능하므로 주문을 어제로 옮긴다
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE orders SET created_at = DATEADD('DAY', -1, created_at)")
+                .executeUpdate();
+        entityManager.clear();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+
+        // API는 백그라운드로 돌므로 같은 작업을 테스트 트랜잭션 안에서 직접 실행
+        assertThat(salesRollupBackfill.backfill(yesterday, yesterday)).isEqualTo(2);
+
+        JsonNode after = summary(null, null);
+        assertThat(after.path("byStatus")).isEqualTo(before.path("byStatus"));
+        assertThat(after.path("topBooks")).isEqualTo(before.path("topBooks"));
+
+        // 다시 돌려도 두 번 더해지지 않는다
+        salesRollupBackfill.backfill(yesterday, yesterday);
+        assertThat(summary(null, null).path("revenue").asLong()).isEqualTo(before.path("revenue").asLong());
+    }
+
+    @Test
+    @DisplayName("백필은 요청을 기다리지 않고 백그라운드로 시작")
+    void backfill_Accepted() throws Exception {
+        String yesterday = LocalDate.now().minusDays(1).toString();
+        mockMvc.perform(post("/api/admin/analytics/sales/backfill")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("from", yesterday)
+                        .param("to", yesterday))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.payload.to").value(yesterday));
+    }
+
+    @Test
+    @DisplayName("백필 실패 - 오늘 포함, 최대 기간 초과")
+    void backfill_Rejected() throws Exception {
+        LocalDate today = LocalDate.now();
+        mockMvc.perform(post("/api/admin/analytics/sales/backfill")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("from", today.minusDays(1).toString())
+                        .param("to", today.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_QUERY_PARAM"));
+        mockMvc.perform(post("/api/admin/analytics/sales/backfill")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("from", today.minusDays(367).toString())
+                        .param("to", today.minusDays(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_QUERY_PARAM"));
+    }
+
+    // 사용자 조회 1 + 상태별 합계 1 + 도서별 합계 1 + 도서 제목 1. 주문 수와 무관
+    @Test
+    @SqlBudget(statements = 4)
+    @DisplayName("매출 요약은 주문 테이블을 읽지 않고 집계 행만 합한다")
+    void salesSummary_SqlBudget(SqlStatementCounter counter) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            createOrder(i % 2 == 0 ? book1 : book2, 1);
+        }
+        counter.reset();
+
+        mockMvc.perform(get("/api/admin/analytics/sales")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.orderCount").value(5));
+    }
+
+    @Test
+    @DisplayName("매출 요약 실패 - 잘못된 기간, 일반 사용자")
+    void salesSummary_Rejected() throws Exception {
+        mockMvc.perform(get("/api/admin/analytics/sales")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("from", "2024-02-01T00:00:00")
+                        .param("to", "2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_QUERY_PARAM"));
+        mockMvc.perform(get("/api/admin/analytics/sales")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private Long createOrder(Book book, int quantity) throws Exception {
+        OrderRequest request = OrderRequest.builder()
+                .items(List.of(OrderRequest.OrderItemRequest.builder()
+                        .bookId(book.getId())
+                        .quantity(quantity)
+                        .build()))
+                .build();
+        String result = mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(result).path("payload").path("orderId").asLong();
+    }
+
+    private void cancel(Long orderId) throws Exception {
+        mockMvc.perform(patch("/api/orders/" + orderId + "/status")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OrderStatusRequest.builder()
+                                .status(Order.OrderStatus.CANCELLED)
+                                .build())))
+                .andExpect(status().isOk());
+    }
+
+    private JsonNode summary(LocalDateTime from, LocalDateTime to) throws Exception {
+        var request = get("/api/admin/analytics/sales")
+                .header("Authorization", "Bearer " + adminToken);
+        if (from != null) {
+            request.param("from", from.toString());
+        }
+        if (to != null) {
+            request.param("to", to.toString());
+        }
+        String result = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(result).path("payload");
+    }
+
+    private JsonNode statusSales(JsonNode summary, String status) {
+        for (JsonNode node : summary.path("byStatus")) {
+            if (node.path("status").asText().equals(status)) {
+                return node;
+            }
+        }
+        return objectMapper.createObjectNode();
+    }
+
+    private Book saveBook(int i, int price) {
+        return bookRepository.save(Book.builder()
+                .title("매출 도서 " + i)
+                .author("저자")
+                .publisher("출판사")
+                .isbn("97877000000" + i)
+                .price(price)
+                .publicationDate(LocalDate.of(2023, 1, 1))
+                .build());
+    }
+}
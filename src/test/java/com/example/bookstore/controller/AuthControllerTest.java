@@ -4,6 +4,7 @@ import com.example.bookstore.dto.auth.LoginRequest;
 import com.example.bookstore.dto.auth.SignUpRequest;
 import com.example.bookstore.entity.User;
 import com.example.bookstore.repository.UserRepository;
+import com.example.bookstore.security.JwtTokenProvider;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,7 +20,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -40,6 +41,9 @@ class AuthControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
     @BeforeEach
     void setUp() {
         userRepository.deleteAll();
@@ -156,4 +160,120 @@ class AuthControllerTest {
                 .andExpect(status().isUnauthorized())
                 .andExpect(jsonPath("$.code").value("INVALID_CREDENTIALS"));
     }
+
+    @Test
+    @DisplayName("로그인 토큰으로 내 정보 조회 (stateless principal)")
+    void login_ThenGetMyInfo() throws Exception {
+        User user = User.builder()
+                .email("test@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .name("테스트유저")
+                .role(User.Role.ROLE_USER)
+                .build();
+        userRepository.save(user);
+
+        LoginRequest request = LoginRequest.builder()
+                .email("test@example.com")
+                .password("password123")
+                .build();
+
+        String result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andReturn().getResponse().getContentAsString();
+        String accessToken = objectMapper.readTree(result).path("payload").path("accessToken").asText();
+
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.userId").value(user.getId()))
+                .andExpect(jsonPath("$.payload.name").value("테스트유저"));
+    }
+
+    @Test
+    @DisplayName("로그아웃하면 기존 액세스 토큰은 거절")
+    void logout_RevokesAccessToken() throws Exception {
+        userRepository.save(User.builder()
+                .email("test@example.com")
+                .password(passwordEncoder.encode("password123"))
+                .name("테스트유저")
+                .role(User.Role.ROLE_USER)
+                .build());
+
+        String accessToken = login("test@example.com", "password123");
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().is2xxSuccessful());
+
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + accessToken))
+                // 인증 없는 요청으로 처리되어 로그인 페이지로 리다이렉트
+                .andExpect(status().isFound());
+    }
+
+    @Test
+    @DisplayName("권한이 내려간 관리자의 기존 토큰으로 관리자 API 불가")
+    void roleChange_OldTokenRejected() throws Exception {
+        User admin = saveUser("admin@example.com", User.Role.ROLE_ADMIN);
+        User demoted = saveUser("demoted@example.com", User.Role.ROLE_ADMIN);
+        String adminToken = jwtTokenProvider.createAccessToken(admin.getId(), admin.getEmail(), admin.getRole().name());
+        String demotedToken = jwtTokenProvider.createAccessToken(demoted.getId(), demoted.getEmail(), demoted.getRole().name());
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + demotedToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/admin/users/" + demoted.getId() + "/role")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\":\"ROLE_USER\"}"))
+                .andExpect(status().isOk());
+
+        // 토큰의 role 클레임은 아직 ROLE_ADMIN이지만 변경 전에 발급됐으므로 거절
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + demotedToken))
+                .andExpect(status().isFound());
+    }
+
+    @Test
+    @DisplayName("삭제된 사용자의 기존 토큰은 거절")
+    void deletion_OldTokenRejected() throws Exception {
+        User admin = saveUser("admin@example.com", User.Role.ROLE_ADMIN);
+        User deleted = saveUser("deleted@example.com", User.Role.ROLE_USER);
+        String adminToken = jwtTokenProvider.createAccessToken(admin.getId(), admin.getEmail(), admin.getRole().name());
+        String deletedToken = jwtTokenProvider.createAccessToken(deleted.getId(), deleted.getEmail(), deleted.getRole().name());
+
+        mockMvc.perform(delete("/api/admin/users/" + deleted.getId())
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + deletedToken))
+                .andExpect(status().isFound());
+    }
+
+    private User saveUser(String email, User.Role role) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .name("테스트유저")
+                .role(role)
+                .build());
+    }
+
+    private String login(String email, String password) throws Exception {
+        LoginRequest request = LoginRequest.builder()
+                .email(email)
+                .password(password)
+                .build();
+        String result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(result).path("payload").path("accessToken").asText();
+    }
 }
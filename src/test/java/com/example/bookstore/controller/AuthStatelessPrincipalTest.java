@@ -0,0 +1,105 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.entity.User;
+import com.example.bookstore.repository.UserRepository;
+import com.example.bookstore.security.JwtTokenProvider;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// 운영 기본값이 아닌 인증 경로: 토큰 클레임만으로 principal을 만들고(DB 조회 없음) 사용자 캐시도 끈 상태
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "jwt.stateless-principal=true",
+        "security.user-cache.enabled=false"
+})
+@Transactional
+class AuthStatelessPrincipalTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    @DisplayName("stateless principal - 토큰만으로 인증")
+    void statelessToken_Authenticates() throws Exception {
+        User user = saveUser("stateless@example.com", User.Role.ROLE_USER);
+        String token = jwtTokenProvider.createAccessToken(user.getId(), user.getEmail(), user.getRole().name());
+
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.email").value("stateless@example.com"));
+    }
+
+    @Test
+    @DisplayName("stateless principal - 권한이 내려간 관리자의 기존 토큰으로 관리자 API 불가")
+    void statelessToken_AfterRoleChange_Rejected() throws Exception {
+        User admin = saveUser("admin@example.com", User.Role.ROLE_ADMIN);
+        User demoted = saveUser("demoted@example.com", User.Role.ROLE_ADMIN);
+        String adminToken = jwtTokenProvider.createAccessToken(admin.getId(), admin.getEmail(), admin.getRole().name());
+        String demotedToken = jwtTokenProvider.createAccessToken(demoted.getId(), demoted.getEmail(), demoted.getRole().name());
+
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + demotedToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/admin/users/" + demoted.getId() + "/role")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\":\"ROLE_USER\"}"))
+                .andExpect(status().isOk());
+
+        // 토큰의 role 클레임은 아직 ROLE_ADMIN이지만 변경 전에 발급됐으므로 거절
+        mockMvc.perform(get("/api/admin/users")
+                        .header("Authorization", "Bearer " + demotedToken))
+                .andExpect(status().isFound());
+    }
+
+    @Test
+    @DisplayName("stateless principal - 삭제된 사용자의 기존 토큰은 거절")
+    void statelessToken_AfterDeletion_Rejected() throws Exception {
+        User admin = saveUser("admin@example.com", User.Role.ROLE_ADMIN);
+        User deleted = saveUser("deleted@example.com", User.Role.ROLE_USER);
+        String adminToken = jwtTokenProvider.createAccessToken(admin.getId(), admin.getEmail(), admin.getRole().name());
+        String deletedToken = jwtTokenProvider.createAccessToken(deleted.getId(), deleted.getEmail(), deleted.getRole().name());
+
+        mockMvc.perform(delete("/api/admin/users/" + deleted.getId())
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/users/me")
+                        .header("Authorization", "Bearer " + deletedToken))
+                .andExpect(status().isFound());
+    }
+
+    private User saveUser(String email, User.Role role) {
+        return userRepository.save(User.builder()
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .name("테스트유저")
+                .role(role)
+                .build());
+    }
+}
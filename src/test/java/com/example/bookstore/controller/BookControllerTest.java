@@ -2,10 +2,17 @@ package com.example.bookstore.controller;
 
 import com.example.bookstore.dto.book.BookRequest;
 import com.example.bookstore.entity.Book;
+import com.example.bookstore.entity.Review;
 import com.example.bookstore.entity.User;
+import com.example.bookstore.event.OrderCreatedEvent;
+import com.example.bookstore.ranking.BookSalesRanking;
 import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.ReviewRepository;
 import com.example.bookstore.repository.UserRepository;
 import com.example.bookstore.security.JwtTokenProvider;
+import com.example.bookstore.support.SqlBudget;
+import com.example.bookstore.support.SqlStatementCounter;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,7 +27,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -42,18 +53,25 @@ class BookControllerTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ReviewRepository reviewRepository;
+
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private BookSalesRanking bookSalesRanking;
+
     private String adminToken;
     private String userToken;
     private Book testBook;
 
     @BeforeEach
     void setUp() {
+        reviewRepository.deleteAll();
         userRepository.deleteAll();
         bookRepository.deleteAll();
 
@@ -119,6 +137,50 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.payload.size").value(10));
     }
 
+    @Test
+    @DisplayName("도서 목록 조회 (커서 페이지네이션)")
+    void getBooks_WithCursor() throws Exception {
+        for (int i = 1; i <= 4; i++) {
+            bookRepository.save(Book.builder()
+                    .title("커서 도서 " + i)
+                    .author("커서 저자")
+                    .publisher("커서 출판사")
+                    .isbn("978000000000" + i)
+                    .price(10000)
+                    .build());
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        String cursor = "";
+        int pages = 0;
+        boolean hasNext = true;
+        while (hasNext) {
+            String body = mockMvc.perform(get("/api/public/books")
+                            .param("cursor", cursor)
+                            .param("size", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.payload.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode payload = objectMapper.readTree(body).get("payload");
+            payload.get("content").forEach(book -> seen.add(book.get("bookId").asInt()));
+            hasNext = payload.get("hasNext").asBoolean();
+            cursor = hasNext ? payload.get("nextCursor").asText() : null;
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("도서 목록 조회 실패 - 잘못된 커서")
+    void getBooks_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/public/books")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_QUERY_PARAM"));
+    }
+
     @Test
     @DisplayName("도서 검색")
     void searchBooks() throws Exception {
@@ -128,6 +190,121 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.payload.content[0].title").value("테스트 도서"));
     }
 
+    @Test
+    @DisplayName("관련도 정렬 - 색인이 꺼져 있으면 최신순으로 대체")
+    void searchBooks_RelevanceSortFallback() throws Exception {
+        mockMvc.perform(get("/api/public/books")
+                        .param("keyword", "테스트")
+                        .param("sort", "relevance"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.content[0].title").value("테스트 도서"));
+    }
+
+    @Test
+    @DisplayName("도서 자동완성 - 빈 접두어는 빈 목록")
+    void suggest_EmptyPrefix() throws Exception {
+        mockMvc.perform(get("/api/public/books/suggest")
+                        .param("prefix", " "))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload").isArray())
+                .andExpect(jsonPath("$.payload").isEmpty());
+    }
+
+    @Test
+    @DisplayName("facet 검색 - 검색 색인이 꺼져 있으면 503")
+    void searchFacets_IndexDisabled() throws Exception {
+        mockMvc.perform(get("/api/public/books/facets")
+                        .param("publisher", "테스트 출판사"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.code").value("SERVICE_UNAVAILABLE"));
+    }
+
+    @Test
+    @DisplayName("도서 평점 일괄 조회 - 없는 도서는 제외")
+    void getBookRatings_Bulk() throws Exception {
+        Book other = bookRepository.save(Book.builder()
+                .title("다른 도서")
+                .author("다른 저자")
+                .publisher("다른 출판사")
+                .isbn("9780000000009")
+                .price(10000)
+                .build());
+        User reviewer = userRepository.findByEmail("user@test.com").orElseThrow();
+        reviewRepository.save(Review.builder().user(reviewer).book(testBook).rating(4).build());
+
+        mockMvc.perform(get("/api/books/ratings")
+                        .param("ids", testBook.getId() + "," + other.getId() + ",99999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.length()").value(2))
+                .andExpect(jsonPath("$.payload[0].bookId").value(testBook.getId()))
+                .andExpect(jsonPath("$.payload[0].averageRating").value(4.0))
+                .andExpect(jsonPath("$.payload[0].reviewCount").value(1))
+                .andExpect(jsonPath("$.payload[1].reviewCount").value(0));
+    }
+
+    @Test
+    @DisplayName("도서 목록 조회 - includeRating 이면 평점 포함")
+    void getBooks_IncludeRating() throws Exception {
+        User reviewer = userRepository.findByEmail("user@test.com").orElseThrow();
+        reviewRepository.save(Review.builder().user(reviewer).book(testBook).rating(5).build());
+
+        mockMvc.perform(get("/api/public/books"))
+                .andExpect(jsonPath("$.payload.content[0].averageRating").doesNotExist());
+
+        mockMvc.perform(get("/api/public/books")
+                        .param("includeRating", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.content[0].averageRating").value(5.0))
+                .andExpect(jsonPath("$.payload.content[0].reviewCount").value(1));
+    }
+
+    // 도서 조회 1
+    @Test
+    @SqlBudget(statements = 1, rows = 1, entities = 1)
+    @DisplayName("도서 단건 조회 SQL 예산")
+    void getBook_SqlBudget(SqlStatementCounter counter) throws Exception {
+        counter.reset();
+
+        mockMvc.perform(get("/api/public/books/" + testBook.getId()))
+                .andExpect(status().isOk());
+    }
+
+    // 페이지 1 + count 1 + 평점 일괄 조회 최대 2 (도서 수와 무관)
+    @Test
+    @SqlBudget(statements = 4, rows = 17, entities = 6)
+    @DisplayName("도서 목록 조회 SQL 예산 - 평점 포함")
+    void getBooks_IncludeRating_SqlBudget(SqlStatementCounter counter) throws Exception {
+        User reviewer = userRepository.findByEmail("user@test.com").orElseThrow();
+        for (int i = 1; i <= 5; i++) {
+            Book book = saveBudgetBook(i);
+            reviewRepository.save(Review.builder().user(reviewer).book(book).rating(i).build());
+        }
+        counter.reset();
+
+        mockMvc.perform(get("/api/public/books")
+                        .param("size", "10")
+                        .param("includeRating", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.content.length()").value(6));
+    }
+
+    // size+1 건을 한 번에 읽어 hasNext 판단
+    @Test
+    @SqlBudget(statements = 1, rows = 4, entities = 4)
+    @DisplayName("도서 목록 조회 SQL 예산 - 커서")
+    void getBooks_Cursor_SqlBudget(SqlStatementCounter counter) throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            saveBudgetBook(i);
+        }
+        counter.reset();
+
+        mockMvc.perform(get("/api/public/books")
+                        .param("cursor", "")
+                        .param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.content.length()").value(3));
+    }
+
     @Test
     @DisplayName("도서 생성 성공 (관리자)")
     void createBook_Success() throws Exception {
@@ -189,6 +366,31 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.isSuccess").value(true));
     }
 
+    @Test
+    @DisplayName("베스트셀러/급상승 - 판매 수량 순, 삭제된 도서 제외")
+    void getBestsellers_RankedBySales() throws Exception {
+        Book second = saveBudgetBook(1);
+        Book deleted = saveBudgetBook(2);
+        deleted.setDeleted(true);
+        bookRepository.save(deleted);
+
+        // 순위는 컨텍스트 공유 싱글톤이므로 다른 테스트의 주문 점수를 비우고 시작
+        bookSalesRanking.clear();
+        bookSalesRanking.onOrderCreated(new OrderCreatedEvent(1L, Map.of(testBook.getId(), 3, second.getId(), 2)));
+        bookSalesRanking.onOrderCreated(new OrderCreatedEvent(2L, Map.of(deleted.getId(), 5)));
+        bookSalesRanking.refresh();
+
+        for (String path : new String[]{"/api/public/books/bestsellers", "/api/public/books/trending"}) {
+            mockMvc.perform(get(path).param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.payload.length()").value(2))
+                    .andExpect(jsonPath("$.payload[0].rank").value(1))
+                    .andExpect(jsonPath("$.payload[0].bookId").value(testBook.getId()))
+                    .andExpect(jsonPath("$.payload[1].rank").value(2))
+                    .andExpect(jsonPath("$.payload[1].bookId").value(second.getId()));
+        }
+    }
+
     @Test
     @DisplayName("도서 삭제 성공 (관리자)")
     void deleteBook_Success() throws Exception {
@@ -196,4 +398,14 @@ class BookControllerTest {
                         .header("Authorization", "Bearer " + adminToken))
                 .andExpect(status().isOk());
     }
+
+    private Book saveBudgetBook(int i) {
+        return bookRepository.save(Book.builder()
+                .title("예산 도서 " + i)
+                .author("예산 저자")
+                .publisher("예산 출판사")
+                .isbn("978000000010" + i)
+                .price(10000)
+                .build());
+    }
 }
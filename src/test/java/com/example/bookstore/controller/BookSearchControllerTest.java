@@ -0,0 +1,125 @@
+package com.example.bookstore.controller;
+
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.ReviewRepository;
+import com.example.bookstore.search.BookSearchIndex;
+import com.example.bookstore.support.SqlBudget;
+import com.example.bookstore.support.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * 검색 색인을 켠 상태의 도서 검색. 테스트 데이터를 저장한 뒤 rebuild() 로 색인을 다시 만든다.
+ */
+@SpringBootTest(properties = "search.index.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class BookSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        reviewRepository.deleteAll();
+        bookRepository.deleteAll();
+        // 가격이 서로 다른 "자바" 도서 5권 + 일치하지 않는 도서 1권
+        int[] prices = {35000, 15000, 45000, 25000, 55000};
+        for (int i = 0; i < prices.length; i++) {
+            saveBook("자바 입문 " + i, "저자" + i, "출판사A", prices[i], "97800000000" + i);
+        }
+        saveBook("파이썬 입문", "저자9", "출판사B", 20000, "978000000009");
+        bookSearchIndex.rebuild();
+    }
+
+    // 색인에서 정렬/페이징한 뒤 현재 페이지 2건만 PK 로 조회 (COUNT 없음)
+    @Test
+    @SqlBudget(statements = 1, rows = 2)
+    @DisplayName("색인 검색 - 가격순 2페이지는 해당 2건만 조회")
+    void getBooks_IndexSortedPage(SqlStatementCounter counter) throws Exception {
+        counter.reset();
+
+        mockMvc.perform(get("/api/public/books")
+                        .param("keyword", "자바")
+                        .param("sort", "price,asc")
+                        .param("page", "1")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.totalElements").value(5))
+                .andExpect(jsonPath("$.payload.content.length()").value(2))
+                .andExpect(jsonPath("$.payload.content[0].price").value(35000))
+                .andExpect(jsonPath("$.payload.content[1].price").value(45000));
+    }
+
+    @Test
+    @DisplayName("색인에 없는 필드로 정렬하면 DB 검색으로 처리")
+    void getBooks_UnsupportedSort_FallsBackToDb() throws Exception {
+        mockMvc.perform(get("/api/public/books")
+                        .param("keyword", "자바")
+                        .param("sort", "isbn,desc")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.totalElements").value(5))
+                .andExpect(jsonPath("$.payload.content[0].title").value("자바 입문 4"));
+    }
+
+    // facet 결과 전체가 아니라 현재 페이지 2건만 PK 로 조회
+    @Test
+    @SqlBudget(statements = 1, rows = 2)
+    @DisplayName("facet 검색 - 조건 없는 요청도 현재 페이지만 조회")
+    void searchFacets_LoadsOnlyPage(SqlStatementCounter counter) throws Exception {
+        counter.reset();
+
+        mockMvc.perform(get("/api/public/books/facets")
+                        .param("sort", "price,desc")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.books.totalElements").value(6))
+                .andExpect(jsonPath("$.payload.books.content.length()").value(2))
+                .andExpect(jsonPath("$.payload.books.content[0].price").value(55000))
+                .andExpect(jsonPath("$.payload.books.content[1].price").value(45000));
+    }
+
+    @Test
+    @DisplayName("facet 검색 - 색인에 없는 필드로 정렬하면 400")
+    void searchFacets_UnsupportedSort() throws Exception {
+        mockMvc.perform(get("/api/public/books/facets")
+                        .param("sort", "isbn,asc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_QUERY_PARAM"));
+    }
+
+    private void saveBook(String title, String author, String publisher, int price, String isbn) {
+        bookRepository.save(Book.builder()
+                .title(title)
+                .author(author)
+                .publisher(publisher)
+                .isbn(isbn)
+                .price(price)
+                .publicationDate(LocalDate.of(2024, 1, 1))
+                .build());
+    }
+}
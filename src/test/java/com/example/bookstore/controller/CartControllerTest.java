@@ -2,12 +2,18 @@ package com.example.bookstore.controller;
 
 import com.example.bookstore.dto.cart.CartItemRequest;
 import com.example.bookstore.entity.Book;
+import com.example.bookstore.entity.Cart;
+import com.example.bookstore.entity.CartItem;
+import com.example.bookstore.entity.Order;
 import com.example.bookstore.entity.User;
 import com.example.bookstore.repository.BookRepository;
 import com.example.bookstore.repository.CartItemRepository;
 import com.example.bookstore.repository.CartRepository;
+import com.example.bookstore.repository.OrderRepository;
 import com.example.bookstore.repository.UserRepository;
 import com.example.bookstore.security.JwtTokenProvider;
+import com.example.bookstore.support.SqlBudget;
+import com.example.bookstore.support.SqlStatementCounter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,7 +28,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -50,6 +58,9 @@ class CartControllerTest {
     @Autowired
     private CartItemRepository cartItemRepository;
 
+    @Autowired
+    private OrderRepository orderRepository;
+
     @Autowired
     private JwtTokenProvider jwtTokenProvider;
 
@@ -62,6 +73,7 @@ class CartControllerTest {
 
     @BeforeEach
     void setUp() {
+        orderRepository.deleteAll();
         cartItemRepository.deleteAll();
         cartRepository.deleteAll();
         userRepository.deleteAll();
@@ -153,4 +165,138 @@ class CartControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.isSuccess").value(true));
     }
+
+    // 사용자 조회 1 + 장바구니 항목 조회 1
+    @Test
+    @SqlBudget(statements = 2, rows = 6, entities = 6)
+    @DisplayName("장바구니 조회는 항목 수와 무관하게 SQL 문 수가 일정하다")
+    void getCartItems_StatementCount(SqlStatementCounter counter) throws Exception {
+        Cart cart = cartRepository.save(Cart.builder().user(testUser).build());
+        for (int i = 0; i < 5; i++) {
+            cartItemRepository.save(CartItem.builder().cart(cart).book(saveBook(i)).quantity(1).build());
+        }
+        counter.reset();
+
+        mockMvc.perform(get("/api/carts/items")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.length()").value(5));
+    }
+
+    @Test
+    @DisplayName("삭제한 항목을 다시 담으면 요청 수량으로 되살아난다")
+    void addCartItem_RevivesDeletedItem() throws Exception {
+        Cart cart = cartRepository.save(Cart.builder().user(testUser).build());
+        cartItemRepository.save(CartItem.builder().cart(cart).book(testBook).quantity(5).deleted(true).build());
+
+        mockMvc.perform(post("/api/carts/items")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CartItemRequest.builder().bookId(testBook.getId()).quantity(2).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.cartId").value(cart.getId()));
+
+        List<CartItem> items = cartItemRepository.findByCartUserIdAndDeletedFalse(testUser.getId());
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0).getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("장바구니 항목 추가 실패 - 없는 도서")
+    void addCartItem_BookNotFound() throws Exception {
+        mockMvc.perform(post("/api/carts/items")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CartItemRequest.builder().bookId(99999L).quantity(1).build())))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("BOOK_NOT_FOUND"));
+    }
+
+    // 사용자 1 + 장바구니 id 1 + upsert 1
+    @Test
+    @SqlBudget(statements = 3)
+    @DisplayName("장바구니 항목 추가 SQL 예산 - 이미 담긴 도서")
+    void addCartItem_SqlBudget(SqlStatementCounter counter) throws Exception {
+        Cart cart = cartRepository.save(Cart.builder().user(testUser).build());
+        cartItemRepository.save(CartItem.builder().cart(cart).book(testBook).quantity(1).build());
+        counter.reset();
+
+        mockMvc.perform(post("/api/carts/items")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CartItemRequest.builder().bookId(testBook.getId()).quantity(2).build())))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("장바구니 주문 - 주문이 생성되고 장바구니가 비워진다")
+    void checkout_Success() throws Exception {
+        Cart cart = cartRepository.save(Cart.builder().user(testUser).build());
+        cartItemRepository.save(CartItem.builder().cart(cart).book(testBook).quantity(2).build());
+        cartItemRepository.save(CartItem.builder().cart(cart).book(saveBook(1)).quantity(1).build());
+
+        String body = mockMvc.perform(post("/api/carts/checkout")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.orderId").exists())
+                .andReturn().getResponse().getContentAsString();
+
+        Long orderId = objectMapper.readTree(body).path("payload").path("orderId").asLong();
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        assertThat(order.getTotalAmount()).isEqualTo(30000 * 2 + 10000);
+        assertThat(order.getItems()).hasSize(2);
+        assertThat(cartItemRepository.findByCartUserIdAndDeletedFalse(testUser.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("장바구니 주문 실패 - 빈 장바구니")
+    void checkout_EmptyCart() throws Exception {
+        mockMvc.perform(post("/api/carts/checkout")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("CART_EMPTY"));
+    }
+
+    @Test
+    @DisplayName("장바구니 주문 실패 - 삭제된 도서가 있으면 주문하지 않는다")
+    void checkout_DeletedBook() throws Exception {
+        Cart cart = cartRepository.save(Cart.builder().user(testUser).build());
+        cartItemRepository.save(CartItem.builder().cart(cart).book(testBook).quantity(1).build());
+        testBook.setDeleted(true);
+
+        mockMvc.perform(post("/api/carts/checkout")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("BOOK_NOT_FOUND"));
+
+        assertThat(cartItemRepository.findByCartUserIdAndDeletedFalse(testUser.getId())).hasSize(1);
+    }
+
+    // 사용자 1 + 장바구니·도서 조회 1 + 주문 INSERT 1 + 주문 항목 배치 INSERT 1 + 장바구니 UPDATE 1 + 시퀀스 최대 2
+    // + 매출 집계 upsert 2 (상태별, 도서별)
+    @Test
+    @SqlBudget(statements = 9, rows = 11, entities = 21)
+    @DisplayName("장바구니 주문 SQL 예산 - 항목 수와 무관")
+    void checkout_SqlBudget(SqlStatementCounter counter) throws Exception {
+        Cart cart = cartRepository.save(Cart.builder().user(testUser).build());
+        for (int i = 0; i < 10; i++) {
+            cartItemRepository.save(CartItem.builder().cart(cart).book(saveBook(i)).quantity(1).build());
+        }
+        counter.reset();
+
+        mockMvc.perform(post("/api/carts/checkout")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+    }
+
+    private Book saveBook(int i) {
+        return bookRepository.save(Book.builder()
+                .title("도서 " + i)
+                .author("저자")
+                .publisher("출판사")
+                .isbn("97800000000" + i)
+                .price(10000)
+                .publicationDate(LocalDate.of(2023, 1, 1))
+                .build());
+    }
 }
@@ -8,6 +8,8 @@ import com.example.bookstore.repository.BookRepository;
 import com.example.bookstore.repository.FavoriteRepository;
 import com.example.bookstore.repository.UserRepository;
 import com.example.bookstore.security.JwtTokenProvider;
+import com.example.bookstore.support.SqlBudget;
+import com.example.bookstore.support.SqlStatementCounter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -151,4 +153,31 @@ class FavoriteControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("찜이 삭제되었습니다"));
     }
+
+    // 사용자 조회 1 + 찜 목록 조회 1
+    @Test
+    @SqlBudget(statements = 2, rows = 6, entities = 6)
+    @DisplayName("찜 목록 조회는 항목 수와 무관하게 SQL 문 수가 일정하다")
+    void getFavorites_StatementCount(SqlStatementCounter counter) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            favoriteRepository.save(Favorite.builder().user(testUser).book(saveBook(i)).build());
+        }
+        counter.reset();
+
+        mockMvc.perform(get("/api/favorites")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.length()").value(5));
+    }
+
+    private Book saveBook(int i) {
+        return bookRepository.save(Book.builder()
+                .title("도서 " + i)
+                .author("저자")
+                .publisher("출판사")
+                .isbn("97800000000" + i)
+                .price(10000)
+                .publicationDate(LocalDate.of(2023, 1, 1))
+                .build());
+    }
 }
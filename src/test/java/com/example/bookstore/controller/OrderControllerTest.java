@@ -9,6 +9,8 @@ import com.example.bookstore.repository.BookRepository;
 import com.example.bookstore.repository.OrderRepository;
 import com.example.bookstore.repository.UserRepository;
 import com.example.bookstore.security.JwtTokenProvider;
+import com.example.bookstore.support.SqlBudget;
+import com.example.bookstore.support.SqlStatementCounter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -19,12 +21,19 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -106,6 +115,47 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.payload.orderId").exists());
     }
 
+    @Test
+    @DisplayName("주문 생성 실패 - 없거나 삭제된 도서를 한 번에 알린다")
+    void createOrder_MissingBooks() throws Exception {
+        Book deleted = saveBook(1);
+        deleted.setDeleted(true);
+        OrderRequest request = OrderRequest.builder()
+                .items(List.of(
+                        OrderRequest.OrderItemRequest.builder().bookId(testBook.getId()).quantity(1).build(),
+                        OrderRequest.OrderItemRequest.builder().bookId(deleted.getId()).quantity(1).build(),
+                        OrderRequest.OrderItemRequest.builder().bookId(99999L).quantity(1).build()
+                ))
+                .build();
+
+        mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("BOOK_NOT_FOUND"))
+                .andExpect(jsonPath("$.message").value(containsString("[" + deleted.getId() + ", 99999]")));
+    }
+
+    // 사용자 조회 1 + 도서 IN 조회 1 + 주문 INSERT 1 + 주문 항목 배치 INSERT 1 (항목 수와 무관)
+    // + 시퀀스 최대 2 (pooled 할당이 앞선 테스트에서 이미 끝났으면 0) + 매출 집계 upsert 2 (상태별, 도서별)
+    @Test
+    @SqlBudget(statements = 8, rows = 11, entities = 11)
+    @DisplayName("주문 생성 SQL 예산 - 여러 항목")
+    void createOrder_SqlBudget(SqlStatementCounter counter) throws Exception {
+        List<OrderRequest.OrderItemRequest> items = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            items.add(OrderRequest.OrderItemRequest.builder().bookId(saveBook(i).getId()).quantity(2).build());
+        }
+        counter.reset();
+
+        mockMvc.perform(post("/api/orders")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OrderRequest.builder().items(items).build())))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("주문 생성 실패 - 인증 없음")
     void createOrder_Unauthorized() throws Exception {
@@ -168,4 +218,232 @@ class OrderControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.payload.status").value("CANCELLED"));
     }
+
+    @Test
+    @DisplayName("주문 상태 변경 실패 - 최종 상태에서는 변경 불가")
+    void updateOrderStatus_InvalidTransition() throws Exception {
+        Order order = saveOrder();
+
+        patchStatus(userToken, order.getId(), Order.OrderStatus.CANCELLED)
+                .andExpect(status().isOk());
+        // 이미 취소된 주문을 다시 취소
+        patchStatus(userToken, order.getId(), Order.OrderStatus.CANCELLED)
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("STATE_CONFLICT"));
+
+        patchStatus(adminToken(), order.getId(), Order.OrderStatus.SHIPPED)
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("관리자는 배송 단계를 차례로 진행, 배송 후에는 취소 불가")
+    void updateOrderStatus_AdminFollowsTransitions() throws Exception {
+        Order order = saveOrder();
+        String adminToken = adminToken();
+
+        patchStatus(adminToken, order.getId(), Order.OrderStatus.DELIVERED)
+                .andExpect(status().isConflict());
+        patchStatus(adminToken, order.getId(), Order.OrderStatus.SHIPPED)
+                .andExpect(status().isOk());
+        patchStatus(userToken, order.getId(), Order.OrderStatus.CANCELLED)
+                .andExpect(status().isConflict());
+        patchStatus(adminToken, order.getId(), Order.OrderStatus.DELIVERED)
+                .andExpect(status().isOk());
+
+        Order updated = orderRepository.findById(order.getId()).orElseThrow();
+        assertThat(updated.getStatus()).isEqualTo(Order.OrderStatus.DELIVERED);
+        assertThat(updated.getVersion()).isEqualTo(order.getVersion() + 2);
+    }
+
+    @Test
+    @DisplayName("주문 상태 변경 실패 - 일반 사용자는 취소만, 남의 주문은 불가")
+    void updateOrderStatus_Forbidden() throws Exception {
+        Order order = saveOrder();
+        User other = userRepository.save(User.builder()
+                .email("other@test.com")
+                .password(passwordEncoder.encode("other123"))
+                .name("다른 사용자")
+                .role(User.Role.ROLE_USER)
+                .build());
+        String otherToken = jwtTokenProvider.createAccessToken(other.getEmail(), other.getRole().name());
+
+        patchStatus(userToken, order.getId(), Order.OrderStatus.SHIPPED)
+                .andExpect(status().isForbidden());
+        patchStatus(otherToken, order.getId(), Order.OrderStatus.CANCELLED)
+                .andExpect(status().isForbidden());
+        patchStatus(userToken, 999999L, Order.OrderStatus.CANCELLED)
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("읽은 뒤 상태가 바뀐 주문을 저장하면 충돌")
+    void updateOrderStatus_StaleEntityConflicts() {
+        Order order = saveOrder();
+        orderRepository.flush();
+        Order stale = orderRepository.findById(order.getId()).orElseThrow();
+
+        orderRepository.updateStatus(order.getId(), null, Order.OrderStatus.CREATED,
+                Order.OrderStatus.SHIPPED, LocalDateTime.now());
+
+        stale.setTotalAmount(1);
+        assertThatThrownBy(() -> orderRepository.saveAndFlush(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+    }
+
+    // 사용자 조회 1 + 조건부 UPDATE 1 (주문 엔티티는 읽지 않는다)
+    // + 매출 집계: 주문 요약 조회 1 + 이전/새 상태 upsert 2 + 도서별 판매 차감 1
+    @Test
+    @SqlBudget(statements = 6, rows = 2, entities = 1)
+    @DisplayName("주문 취소는 주문을 읽지 않고 조건부 UPDATE와 집계 반영으로 끝난다")
+    void updateOrderStatus_SqlBudget(SqlStatementCounter counter) throws Exception {
+        Order order = saveOrder();
+        counter.reset();
+
+        patchStatus(userToken, order.getId(), Order.OrderStatus.CANCELLED)
+                .andExpect(status().isOk());
+    }
+
+    // 사용자 조회 1 + 내보내기 커서 1. 주문 수와 무관
+    @Test
+    @SqlBudget(statements = 2, rows = 6, entities = 1)
+    @DisplayName("주문 내보내기 - CSV")
+    void exportOrders_Csv(SqlStatementCounter counter) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            saveOrder();
+        }
+        String adminToken = adminToken();
+        counter.reset();
+
+        String body = mockMvc.perform(get("/api/admin/orders/export")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", containsString("orders.csv")))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(6);
+        assertThat(lines[0]).isEqualTo("orderId,userId,status,totalAmount,createdAt,updatedAt");
+        assertThat(lines[1]).contains("," + testUser.getId() + ",CREATED,30000,");
+    }
+
+    @Test
+    @DisplayName("주문 내보내기 - NDJSON, 상태와 기간 필터")
+    void exportOrders_NdjsonFiltered() throws Exception {
+        Order cancelled = saveOrder();
+        saveOrder();
+        orderRepository.updateStatus(cancelled.getId(), null, Order.OrderStatus.CREATED,
+                Order.OrderStatus.CANCELLED, LocalDateTime.now());
+        String adminToken = adminToken();
+        String today = LocalDate.now().toString();
+
+        String body = mockMvc.perform(get("/api/admin/orders/export")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("format", "ndjson")
+                        .param("status", "CANCELLED")
+                        .param("from", today)
+                        .param("to", today))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readTree(lines[0]).path("orderId").asLong()).isEqualTo(cancelled.getId());
+        assertThat(objectMapper.readTree(lines[0]).path("status").asText()).isEqualTo("CANCELLED");
+
+        mockMvc.perform(get("/api/admin/orders/export")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("format", "ndjson")
+                        .param("to", LocalDate.now().minusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("주문 내보내기 실패 - 잘못된 파라미터, 일반 사용자")
+    void exportOrders_Rejected() throws Exception {
+        String adminToken = adminToken();
+
+        mockMvc.perform(get("/api/admin/orders/export")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_QUERY_PARAM"));
+        mockMvc.perform(get("/api/admin/orders/export")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .param("from", "2024-02-01")
+                        .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_QUERY_PARAM"));
+        mockMvc.perform(get("/api/admin/orders/export")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+    }
+
+    // 사용자 조회 1 + 주문 페이지 1 (첫 페이지가 덜 차면 count 생략)
+    @Test
+    @SqlBudget(statements = 2, rows = 6, entities = 6)
+    @DisplayName("내 주문 목록 조회는 주문 수와 무관하게 SQL 문 수가 일정하다")
+    void getMyOrders_StatementCount(SqlStatementCounter counter) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            saveOrder();
+        }
+        counter.reset();
+
+        mockMvc.perform(get("/api/orders")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.content.length()").value(5));
+    }
+
+    // 사용자 조회 1 + 주문 조회 1
+    @Test
+    @SqlBudget(statements = 2, rows = 1, entities = 2)
+    @DisplayName("주문 단건 조회의 소유자 확인은 사용자를 다시 읽지 않는다")
+    void getOrder_StatementCount(SqlStatementCounter counter) throws Exception {
+        Order order = saveOrder();
+        counter.reset();
+
+        mockMvc.perform(get("/api/orders/" + order.getId())
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.orderId").value(order.getId()));
+    }
+
+    private ResultActions patchStatus(String token, Long orderId, Order.OrderStatus status) throws Exception {
+        return mockMvc.perform(patch("/api/orders/" + orderId + "/status")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(OrderStatusRequest.builder().status(status).build())));
+    }
+
+    private String adminToken() {
+        User admin = userRepository.save(User.builder()
+                .email("admin@test.com")
+                .password(passwordEncoder.encode("admin123"))
+                .name("관리자")
+                .role(User.Role.ROLE_ADMIN)
+                .build());
+        return jwtTokenProvider.createAccessToken(admin.getEmail(), admin.getRole().name());
+    }
+
+    private Order saveOrder() {
+        return orderRepository.save(Order.builder()
+                .user(testUser)
+                .status(Order.OrderStatus.CREATED)
+                .totalAmount(30000)
+                .build());
+    }
+
+    private Book saveBook(int i) {
+        return bookRepository.save(Book.builder()
+                .title("도서 " + i)
+                .author("저자")
+                .publisher("출판사")
+                .isbn("97800000000" + i)
+                .price(10000)
+                .publicationDate(LocalDate.of(2023, 1, 1))
+                .build());
+    }
 }
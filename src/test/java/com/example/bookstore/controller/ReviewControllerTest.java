@@ -1,6 +1,8 @@
 package com.example.bookstore.controller;
 
+import com.example.bookstore.dto.Cursor;
 import com.example.bookstore.dto.review.ReviewRequest;
+import com.example.bookstore.dto.review.ReviewSort;
 import com.example.bookstore.entity.Book;
 import com.example.bookstore.entity.Review;
 import com.example.bookstore.entity.User;
@@ -8,6 +10,10 @@ import com.example.bookstore.repository.BookRepository;
 import com.example.bookstore.repository.ReviewRepository;
 import com.example.bookstore.repository.UserRepository;
 import com.example.bookstore.security.JwtTokenProvider;
+import com.example.bookstore.service.BookRatingService;
+import com.example.bookstore.support.SqlBudget;
+import com.example.bookstore.support.SqlStatementCounter;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,7 +28,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -53,6 +63,9 @@ class ReviewControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private BookRatingService bookRatingService;
+
     private String userToken;
     private User testUser;
     private Book testBook;
@@ -199,4 +212,172 @@ class ReviewControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("리뷰가 삭제되었습니다"));
     }
+
+    @Test
+    @DisplayName("리뷰 작성/수정/삭제가 평점 집계에 반영")
+    void ratingStats_UpdatedByReviewChanges() throws Exception {
+        String body = mockMvc.perform(post("/api/books/" + testBook.getId() + "/reviews")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ReviewRequest.builder().rating(2).build())))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long reviewId = objectMapper.readTree(body).at("/payload/reviewId").asLong();
+
+        mockMvc.perform(get("/api/books/" + testBook.getId() + "/rating"))
+                .andExpect(jsonPath("$.reviewCount").value(1))
+                .andExpect(jsonPath("$.averageRating").value(2.0))
+                .andExpect(jsonPath("$.histogram.2").value(1));
+
+        mockMvc.perform(patch("/api/reviews/" + reviewId)
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ReviewRequest.builder().rating(5).build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/books/" + testBook.getId() + "/rating"))
+                .andExpect(jsonPath("$.reviewCount").value(1))
+                .andExpect(jsonPath("$.averageRating").value(5.0))
+                .andExpect(jsonPath("$.histogram.2").value(0))
+                .andExpect(jsonPath("$.histogram.5").value(1));
+
+        mockMvc.perform(delete("/api/reviews/" + reviewId)
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/books/" + testBook.getId() + "/rating"))
+                .andExpect(jsonPath("$.reviewCount").value(0))
+                .andExpect(jsonPath("$.averageRating").value(0.0));
+    }
+
+    @Test
+    @DisplayName("집계 행이 없는 도서의 첫 리뷰 - 기존 리뷰까지 포함해 집계 행 생성")
+    void ratingStats_CreatedFromExistingReviews() throws Exception {
+        User other = userRepository.save(User.builder()
+                .email("other@test.com")
+                .password(passwordEncoder.encode("user123"))
+                .name("다른 사용자")
+                .role(User.Role.ROLE_USER)
+                .build());
+        // 집계 기능 이전에 작성된 리뷰
+        reviewRepository.save(Review.builder()
+                .user(other)
+                .book(testBook)
+                .rating(4)
+                .build());
+
+        mockMvc.perform(post("/api/books/" + testBook.getId() + "/reviews")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ReviewRequest.builder().rating(2).build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/books/" + testBook.getId() + "/rating"))
+                .andExpect(jsonPath("$.reviewCount").value(2))
+                .andExpect(jsonPath("$.averageRating").value(3.0))
+                .andExpect(jsonPath("$.histogram.2").value(1))
+                .andExpect(jsonPath("$.histogram.4").value(1));
+        assertThat(bookRatingService.findDriftedBookIds()).doesNotContain(testBook.getId());
+    }
+
+    @Test
+    @DisplayName("평점 집계 보정 - 서비스를 거치지 않은 리뷰 반영")
+    void ratingStats_Reconcile() throws Exception {
+        bookRatingService.createStats(testBook.getId());
+        reviewRepository.save(Review.builder()
+                .user(testUser)
+                .book(testBook)
+                .rating(4)
+                .build());
+
+        assertThat(bookRatingService.findDriftedBookIds()).contains(testBook.getId());
+        assertThat(bookRatingService.reconcile(testBook.getId())).isTrue();
+        assertThat(bookRatingService.reconcile(testBook.getId())).isFalse();
+
+        mockMvc.perform(get("/api/books/" + testBook.getId() + "/rating"))
+                .andExpect(jsonPath("$.reviewCount").value(1))
+                .andExpect(jsonPath("$.histogram.4").value(1));
+    }
+
+    @Test
+    @DisplayName("도서별 리뷰 커서 페이지네이션 - 평점 높은 순")
+    void getBookReviews_CursorByRating() throws Exception {
+        int[] ratings = {3, 5, 1, 5, 4};
+        for (int i = 0; i < ratings.length; i++) {
+            User reviewer = userRepository.save(User.builder()
+                    .email("reviewer" + i + "@test.com")
+                    .password("password")
+                    .name("리뷰어" + i)
+                    .role(User.Role.ROLE_USER)
+                    .build());
+            reviewRepository.save(Review.builder()
+                    .user(reviewer)
+                    .book(testBook)
+                    .rating(ratings[i])
+                    .build());
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            var request = get("/api/books/" + testBook.getId() + "/reviews")
+                    .param("sort", "rating")
+                    .param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode payload = objectMapper.readTree(body).get("payload");
+            payload.get("content").forEach(review -> seen.add(review.get("rating").asInt()));
+            cursor = payload.get("hasNext").asBoolean() ? payload.get("nextCursor").asText() : null;
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(5, 5, 4, 3, 1);
+    }
+
+    @Test
+    @DisplayName("도서별 리뷰 조회 실패 - 정렬과 맞지 않는 커서")
+    void getBookReviews_CursorSortMismatch() throws Exception {
+        String cursor = Cursor.encode(ReviewSort.NEWEST, 5, LocalDateTime.now(), 1L);
+
+        mockMvc.perform(get("/api/books/" + testBook.getId() + "/reviews")
+                        .param("sort", "rating")
+                        .param("cursor", cursor))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_QUERY_PARAM"));
+    }
+
+    // 사용자 조회 1 + 리뷰 수 1 + 리뷰 목록 1
+    @Test
+    @SqlBudget(statements = 3, rows = 7, entities = 6)
+    @DisplayName("내 리뷰 조회는 리뷰 수와 무관하게 SQL 문 수가 일정하다")
+    void getMyReviews_StatementCount(SqlStatementCounter counter) throws Exception {
+        for (int i = 0; i < 5; i++) {
+            reviewRepository.save(Review.builder()
+                    .user(testUser)
+                    .book(saveBook(i))
+                    .rating(4)
+                    .comment("리뷰 " + i)
+                    .build());
+        }
+        counter.reset();
+
+        mockMvc.perform(get("/api/reviews/me")
+                        .header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.payload.reviews.length()").value(5));
+    }
+
+    private Book saveBook(int i) {
+        return bookRepository.save(Book.builder()
+                .title("도서 " + i)
+                .author("저자")
+                .publisher("출판사")
+                .isbn("97800000000" + i)
+                .price(10000)
+                .publicationDate(LocalDate.of(2023, 1, 1))
+                .build());
+    }
 }
@@ -0,0 +1,56 @@
+package com.example.bookstore.ranking;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DecayingCounterTest {
+
+    private static final long HOUR = Duration.ofHours(1).toMillis();
+
+    private final DecayingCounter counter = new DecayingCounter(Duration.ofHours(1), 0);
+
+    @Test
+    @DisplayName("반감기가 지나면 점수가 절반")
+    void decayTo_HalvesPerHalfLife() {
+        counter.add(1L, 8, 0);
+
+        assertThat(counter.decayTo(HOUR).get(1L)).isCloseTo(4.0, within(1e-9));
+        assertThat(counter.decayTo(3 * HOUR).get(1L)).isCloseTo(1.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("나중에 팔린 도서가 같은 수량이면 더 높은 점수")
+    void add_RecentSaleWeighsMore() {
+        counter.add(1L, 2, 0);
+        counter.add(2L, 2, 2 * HOUR);
+
+        Map<Long, Double> scores = counter.decayTo(2 * HOUR);
+        assertThat(scores.get(1L)).isCloseTo(0.5, within(1e-9));
+        assertThat(scores.get(2L)).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("과거 시각으로 더하면 그만큼 줄어든 값 (스냅샷 복원)")
+    void add_PastTimestamp_AlreadyDecayed() {
+        counter.decayTo(2 * HOUR);
+        counter.add(1L, 4, HOUR);
+
+        assertThat(counter.decayTo(2 * HOUR).get(1L)).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("기준 이하로 식은 점수는 제거")
+    void decayTo_PrunesColdKeys() {
+        counter.add(1L, 1, 0);
+        counter.add(2L, 100, 0);
+
+        Map<Long, Double> scores = counter.decayTo(7 * HOUR);
+        assertThat(scores).containsOnlyKeys(2L);
+    }
+}
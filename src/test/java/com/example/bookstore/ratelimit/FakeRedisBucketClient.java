@@ -0,0 +1,32 @@
+package com.example.bookstore.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * ScriptRedisBucketClient의 Lua 스크립트와 같은 동작을 하는 메모리 구현 (Redis 없이 테스트).
+ */
+class FakeRedisBucketClient implements RedisBucketClient {
+
+    private final Map<String, Long> tats = new HashMap<>();
+    private final LongSupplier clockMicros;
+    private int calls;
+
+    FakeRedisBucketClient(LongSupplier clockMicros) {
+        this.clockMicros = clockMicros;
+    }
+
+    @Override
+    public synchronized BucketState consume(String key, long permits, long intervalMicros) {
+        calls++;
+        long now = clockMicros.getAsLong();
+        long tat = Math.max(tats.getOrDefault(key, now), now) + permits * intervalMicros;
+        tats.put(key, tat);
+        return new BucketState(tat, now);
+    }
+
+    synchronized int calls() {
+        return calls;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.bookstore.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(0);
+
+    @Test
+    @DisplayName("capacity만큼 연속 허용 후 거절")
+    void tryAcquire_AllowsBurstThenRejects() {
+        InMemoryRateLimitStore limiter = new InMemoryRateLimitStore(100, now::get);
+        RateLimit limit = new RateLimit(3, 60);
+
+        assertThat(limiter.tryAcquire("ip", limit).remaining()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("ip", limit).remaining()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("ip", limit).remaining()).isEqualTo(0);
+
+        RateLimitDecision rejected = limiter.tryAcquire("ip", limit);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterMillis()).isEqualTo(1_000);
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 토큰이 다시 채워짐")
+    void tryAcquire_RefillsOverTime() {
+        InMemoryRateLimitStore limiter = new InMemoryRateLimitStore(100, now::get);
+        RateLimit limit = new RateLimit(2, 60);
+
+        limiter.tryAcquire("ip", limit);
+        limiter.tryAcquire("ip", limit);
+        assertThat(limiter.tryAcquire("ip", limit).allowed()).isFalse();
+
+        now.addAndGet(SECOND);
+        assertThat(limiter.tryAcquire("ip", limit).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("ip", limit).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("다시 가득 찬 유휴 키는 정리됨")
+    void tryAcquire_SweepsIdleKeys() {
+        InMemoryRateLimitStore limiter = new InMemoryRateLimitStore(100, now::get);
+        RateLimit limit = new RateLimit(10, 600);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire("ip-" + i, limit);
+        }
+        assertThat(limiter.size()).isEqualTo(50);
+
+        now.addAndGet(11 * SECOND);
+        limiter.tryAcquire("ip-new", limit);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("키 테이블이 가득 차면 가장 덜 쓴 키를 내보내고 새 키는 자기 버킷을 씀")
+    void tryAcquire_EvictsWhenFull() {
+        InMemoryRateLimitStore limiter = new InMemoryRateLimitStore(2, now::get);
+        RateLimit limit = new RateLimit(2, 1);
+
+        limiter.tryAcquire("busy", limit);
+        limiter.tryAcquire("busy", limit);
+        limiter.tryAcquire("light", limit);
+
+        // 새 키끼리 버킷을 나눠 쓰지 않는다
+        assertThat(limiter.tryAcquire("c", limit).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("d", limit).allowed()).isTrue();
+        assertThat(limiter.size()).isEqualTo(2);
+
+        // 한도를 다 쓴 키는 남아 있어 계속 거절
+        limiter.tryAcquire("d", limit);
+        assertThat(limiter.tryAcquire("d", limit).allowed()).isFalse();
+    }
+}
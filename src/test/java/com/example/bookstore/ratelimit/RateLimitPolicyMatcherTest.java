@@ -0,0 +1,49 @@
+package com.example.bookstore.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitPolicyMatcherTest {
+
+    private static final RateLimit LIMIT = new RateLimit(10, 10);
+
+    private final RateLimitPolicy search = policy("search", "GET", "/api/public/books");
+    private final RateLimitPolicy rating = policy("rating", "GET", "/api/books/*/rating");
+    private final RateLimitPolicy books = policy("books", null, "/api/books/**");
+    private final RateLimitPolicy admin = policy("admin", null, "/api/admin/**");
+
+    private final RateLimitPolicyMatcher matcher =
+            new RateLimitPolicyMatcher(List.of(search, rating, books, admin));
+
+    @Test
+    @DisplayName("리터럴 경로와 메서드가 일치하는 정책")
+    void match_ExactPath() {
+        assertThat(matcher.match("GET", "/api/public/books")).isEqualTo(search);
+        assertThat(matcher.match("POST", "/api/public/books")).isNull();
+        assertThat(matcher.match("GET", "/api/public/books/1")).isNull();
+    }
+
+    @Test
+    @DisplayName("메서드 지정 와일드카드 정책이 메서드 무관 ** 정책보다 우선")
+    void match_WildcardBeforeRest() {
+        assertThat(matcher.match("GET", "/api/books/42/rating")).isEqualTo(rating);
+        assertThat(matcher.match("POST", "/api/books/42/rating")).isEqualTo(books);
+        assertThat(matcher.match("GET", "/api/books/42/reviews")).isEqualTo(books);
+    }
+
+    @Test
+    @DisplayName("** 정책은 하위 경로 전체와 접두 경로 자체에 일치")
+    void match_Rest() {
+        assertThat(matcher.match("DELETE", "/api/admin/users/1")).isEqualTo(admin);
+        assertThat(matcher.match("GET", "/api/admin")).isEqualTo(admin);
+        assertThat(matcher.match("GET", "/api/orders")).isNull();
+    }
+
+    private static RateLimitPolicy policy(String name, String method, String pattern) {
+        return new RateLimitPolicy(name, method, pattern, LIMIT, RateLimitPolicy.KeyType.IP);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.bookstore.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisRateLimitStoreTest {
+
+    private static final long SECOND = 1_000_000L;
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+    private final FakeRedisBucketClient redis = new FakeRedisBucketClient(now::get);
+
+    @Test
+    @DisplayName("요청마다 Redis를 호출하지 않고 flush 때 모아서 반영")
+    void tryAcquire_BatchesIncrements() {
+        RedisRateLimitStore store = new RedisRateLimitStore(redis, 100, now::get);
+        RateLimit limit = new RateLimit(10, 60);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(store.tryAcquire("ip", limit).allowed()).isTrue();
+        }
+        assertThat(store.tryAcquire("ip", limit).allowed()).isFalse();
+
+        // 처음 본 키 조회 1회
+        assertThat(redis.calls()).isEqualTo(1);
+
+        store.flush();
+        assertThat(redis.calls()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("인스턴스 간 한도 공유 - flush 후 다른 인스턴스는 남은 토큰만 사용")
+    void tryAcquire_SharesLimitAcrossInstances() {
+        RedisRateLimitStore first = new RedisRateLimitStore(redis, 100, now::get);
+        RedisRateLimitStore second = new RedisRateLimitStore(redis, 100, now::get);
+        RateLimit limit = new RateLimit(10, 60);
+
+        for (int i = 0; i < 7; i++) {
+            assertThat(first.tryAcquire("ip", limit).allowed()).isTrue();
+        }
+        first.flush();
+
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (second.tryAcquire("ip", limit).allowed()) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("batchSize만큼 쌓이면 주기를 기다리지 않고 반영")
+    void tryAcquire_FlushesWhenBatchIsFull() {
+        RedisRateLimitStore store = new RedisRateLimitStore(redis, 5, now::get);
+        RateLimit limit = new RateLimit(100, 6000);
+
+        for (int i = 0; i < 5; i++) {
+            store.tryAcquire("ip", limit);
+        }
+
+        assertThat(redis.calls()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("batchSize 도달 시 반영이 실패하면 다음 요청에서 다시 시도")
+    void tryAcquire_RetriesBatchSyncPastThreshold() {
+        AtomicLong attempts = new AtomicLong();
+        RedisBucketClient flaky = (key, permits, interval) -> {
+            // 처음 본 키 조회는 성공, batchSize 도달 후 첫 반영은 실패
+            if (attempts.incrementAndGet() == 2) {
+                throw new IllegalStateException("timeout");
+            }
+            return redis.consume(key, permits, interval);
+        };
+        RedisRateLimitStore store = new RedisRateLimitStore(flaky, 3, now::get);
+        RateLimit limit = new RateLimit(100, 6000);
+
+        for (int i = 0; i < 4; i++) {
+            store.tryAcquire("ip", limit);
+        }
+
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(redis.calls()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("사용되지 않고 다시 가득 찬 키는 로컬에서 정리")
+    void flush_DropsIdleKeys() {
+        RedisRateLimitStore store = new RedisRateLimitStore(redis, 100, now::get);
+        RateLimit limit = new RateLimit(10, 600);
+
+        store.tryAcquire("ip", limit);
+        store.flush();
+        assertThat(store.size()).isEqualTo(1);
+
+        now.addAndGet(2 * SECOND);
+        store.flush();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 로컬 판단으로 동작하고 소비량은 다음 flush에 반영")
+    void tryAcquire_FailsOpenWhenRedisIsDown() {
+        AtomicLong failures = new AtomicLong(1);
+        RedisBucketClient flaky = (key, permits, interval) -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new IllegalStateException("connection refused");
+            }
+            return redis.consume(key, permits, interval);
+        };
+        RedisRateLimitStore store = new RedisRateLimitStore(flaky, 100, now::get);
+        RateLimit limit = new RateLimit(3, 60);
+
+        assertThat(store.tryAcquire("ip", limit).allowed()).isTrue();
+        assertThat(store.tryAcquire("ip", limit).allowed()).isTrue();
+        store.flush();
+
+        RedisRateLimitStore other = new RedisRateLimitStore(redis, 100, now::get);
+        assertThat(other.tryAcquire("ip", limit).allowed()).isTrue();
+        assertThat(other.tryAcquire("ip", limit).allowed()).isFalse();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.bookstore.search;
+
+import com.example.bookstore.entity.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex(true, null);
+        index.index(book(1L, "스프링 부트 완벽 가이드", "홍길동", "한빛미디어"));
+        index.index(book(2L, "Clean Code", "Robert Martin", "인사이트"));
+        index.index(book(3L, "리팩토링", "마틴 파울러", "한빛미디어"));
+    }
+
+    @Test
+    @DisplayName("한글 부분 문자열 검색")
+    void searchKoreanSubstring() {
+        assertThat(index.search("부트", SearchField.TITLE)).containsExactly(1L);
+        assertThat(index.search("완벽 가", SearchField.TITLE)).containsExactly(1L);
+        assertThat(index.search("빛미", SearchField.PUBLISHER)).containsExactly(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("대소문자 무시, 한 글자 검색")
+    void searchCaseInsensitiveAndSingleChar() {
+        assertThat(index.search("CLEAN", SearchField.TITLE, SearchField.AUTHOR)).containsExactly(2L);
+        assertThat(index.search("마", SearchField.AUTHOR)).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("n-gram 은 모두 있지만 연속하지 않으면 제외")
+    void rejectsNonContiguousGrams() {
+        // "가이" 와 "이드" 는 있지만 "가이드가" 는 없다
+        assertThat(index.search("가이드가", SearchField.TITLE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("수정/삭제 반영")
+    void updateAndRemove() {
+        index.index(book(3L, "리팩터링 2판", "마틴 파울러", "한빛미디어"));
+        assertThat(index.search("리팩토링", SearchField.TITLE)).isEmpty();
+        assertThat(index.search("리팩터링", SearchField.TITLE)).containsExactly(3L);
+
+        index.remove(1L);
+        assertThat(index.search("한빛", SearchField.PUBLISHER)).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("관련도 순위: 제목 > 저자 > 요약, 완전 일치 > 접두어 > 부분 문자열")
+    void rankByRelevance() {
+        BookSearchIndex ranking = new BookSearchIndex(true, null);
+        ranking.index(book(10L, "자바 입문", "김작가", "테크북스", "기초 교재"));
+        ranking.index(book(11L, "모던 자바스크립트", "이저자", "테크북스", "웹 개발"));
+        ranking.index(book(12L, "코틀린", "박필자", "테크북스", "자바 개발자를 위한 책"));
+        ranking.index(book(13L, "알고리즘", "자바왕", "테크북스", "문제 풀이"));
+
+        RankedHits ranked = ranking.rank("자바", 10, id -> 0.0);
+
+        assertThat(ranked.totalMatches()).isEqualTo(4);
+        assertThat(ranked.hits()).extracting(ScoredHit::id).containsExactly(10L, 11L, 13L, 12L);
+    }
+
+    @Test
+    @DisplayName("인기도 가산치와 top-K 제한")
+    void rankWithPopularityAndLimit() {
+        BookSearchIndex ranking = new BookSearchIndex(true, null);
+        for (long id = 1; id <= 50; id++) {
+            ranking.index(book(id, "데이터 분석 " + id, "김작가", "테크북스", null));
+        }
+
+        RankedHits ranked = ranking.rank("데이터", 3, id -> id == 7L ? 1.0 : 0.0);
+
+        assertThat(ranked.totalMatches()).isEqualTo(50);
+        // 점수가 같으면 ID 가 큰 도서가 앞선다
+        assertThat(ranked.hits()).extracting(ScoredHit::id).containsExactly(7L, 50L, 49L);
+    }
+
+    @Test
+    @DisplayName("자동완성: 단어 시작 접두어, 도서 수 많은 순")
+    void suggestByPrefix() {
+        index.index(book(4L, "한빛 자바 입문", "홍길동", "길벗"));
+
+        assertThat(index.suggest("한빛", 10))
+                .extracting(Suggestion::text)
+                .containsExactly("한빛미디어", "한빛 자바 입문");
+        assertThat(index.suggest("한빛", 10).get(0).count()).isEqualTo(2);
+        // 두 번째 단어로도 찾는다
+        assertThat(index.suggest("가이", 10))
+                .extracting(Suggestion::text)
+                .containsExactly("스프링 부트 완벽 가이드");
+        // 단어 중간은 자동완성 대상이 아니다
+        assertThat(index.suggest("프링", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("자동완성: 수정/삭제 반영과 개수 제한")
+    void suggestReflectsUpdates() {
+        index.remove(1L);
+        assertThat(index.suggest("한빛", 10))
+                .extracting(Suggestion::count)
+                .containsExactly(1);
+
+        index.index(book(2L, "Clean Architecture", "Robert Martin", "인사이트"));
+        assertThat(index.suggest("clean", 10))
+                .extracting(Suggestion::text)
+                .containsExactly("Clean Architecture");
+        assertThat(index.suggest("r", 1)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("facet 검색: facet 안은 OR, facet 사이는 AND, 건수는 자기 facet 제외 조건으로 계산")
+    void facetSearch() {
+        BookSearchIndex facets = new BookSearchIndex(true, null);
+        facets.index(priced(1L, "자바 입문", "김작가", "테크북스", 18000, 2021));
+        facets.index(priced(2L, "자바 심화", "김작가", "개발출판", 32000, 2022));
+        facets.index(priced(3L, "파이썬", "이저자", "테크북스", 35000, 2022));
+        facets.index(priced(4L, "코틀린", "박필자", "IT미디어", 52000, 2023));
+
+        Map<FacetField, Set<String>> selected = new EnumMap<>(FacetField.class);
+        selected.put(FacetField.PUBLISHER, Set.of("테크북스", "개발출판"));
+        selected.put(FacetField.PRICE_BAND, Set.of(PriceBand.FROM_30000_TO_40000.name()));
+
+        FacetResult result = facets.facetSearch(null, selected, 10);
+
+        assertThat(result.ids()).containsExactly(2L, 3L);
+        // 출판사 건수는 가격 조건만 적용
+        assertThat(result.facets().get(FacetField.PUBLISHER))
+                .containsExactly(new FacetCount("개발출판", 1), new FacetCount("테크북스", 1));
+        // 가격대 건수는 출판사 조건만 적용
+        assertThat(result.facets().get(FacetField.PRICE_BAND)).containsExactlyInAnyOrder(
+                new FacetCount(PriceBand.FROM_30000_TO_40000.name(), 2),
+                new FacetCount(PriceBand.UNDER_20000.name(), 1));
+        assertThat(result.facets().get(FacetField.YEAR)).containsExactly(new FacetCount("2022", 2));
+
+        // 키워드와 결합, 삭제 후 순번 재사용
+        facets.remove(3L);
+        facets.index(priced(5L, "자바 실전", "최글쓴이", "테크북스", 39000, 2024));
+        FacetResult keyword = facets.facetSearch("자바", selected, 10);
+        assertThat(keyword.ids()).containsExactlyInAnyOrder(2L, 5L);
+    }
+
+    @Test
+    @DisplayName("문자열 정렬은 DB 콜레이션처럼 대소문자를 무시하고 같으면 id 순")
+    void sortTextCaseInsensitive() {
+        index.index(book(4L, "apple", "저자", "출판사"));
+        index.index(book(5L, "Banana", "저자", "출판사"));
+        index.index(book(6L, "APPLE", "저자", "출판사"));
+
+        Comparator<BookDocument> byTitle = DocumentOrder.of(Sort.by("title")).orElseThrow();
+        assertThat(index.slice(Set.of(4L, 5L, 6L), byTitle, 0, 10)).containsExactly(4L, 6L, 5L);
+
+        Comparator<BookDocument> byTitleDesc = DocumentOrder.of(Sort.by(Sort.Direction.DESC, "title")).orElseThrow();
+        assertThat(index.slice(Set.of(4L, 5L, 6L), byTitleDesc, 0, 10)).containsExactly(5L, 4L, 6L);
+    }
+
+    private Book priced(Long id, String title, String author, String publisher, int price, int year) {
+        return Book.builder()
+                .id(id)
+                .title(title)
+                .author(author)
+                .publisher(publisher)
+                .price(price)
+                .publicationDate(LocalDate.of(year, 1, 1))
+                .build();
+    }
+
+    private Book book(Long id, String title, String author, String publisher) {
+        return book(id, title, author, publisher, null);
+    }
+
+    private Book book(Long id, String title, String author, String publisher, String summary) {
+        return Book.builder()
+                .id(id)
+                .title(title)
+                .author(author)
+                .publisher(publisher)
+                .summary(summary)
+                .build();
+    }
+}
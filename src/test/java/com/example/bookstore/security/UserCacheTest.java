@@ -0,0 +1,91 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.entity.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Function<String, User> loader = email -> {
+        loads.incrementAndGet();
+        return User.builder().email(email).role(User.Role.ROLE_USER).build();
+    };
+
+    @Test
+    @DisplayName("같은 이메일은 한 번만 로드")
+    void get_CachesLoadedUser() {
+        UserCache cache = new UserCache(true, 10, 60_000);
+
+        User first = cache.get("a@test.com", loader);
+        User second = cache.get("a@test.com", loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("무효화 후에는 다시 로드")
+    void invalidate_ForcesReload() {
+        UserCache cache = new UserCache(true, 10, 60_000);
+
+        cache.get("a@test.com", loader);
+        cache.invalidate("a@test.com");
+        cache.get("a@test.com", loader);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용하지 않은 항목 제거")
+    void get_EvictsLeastRecentlyUsed() {
+        UserCache cache = new UserCache(true, 2, 60_000);
+
+        cache.get("a@test.com", loader);
+        cache.get("b@test.com", loader);
+        cache.get("a@test.com", loader);
+        cache.get("c@test.com", loader);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+
+        cache.get("a@test.com", loader);
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("TTL이 지나면 다시 로드")
+    void get_ReloadsAfterTtl() {
+        UserCache cache = new UserCache(true, 10, 0);
+
+        cache.get("a@test.com", loader);
+        cache.get("a@test.com", loader);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("로드 도중 무효화되면 로드한 값은 캐시하지 않음")
+    void get_InvalidatedDuringLoad_NotCached() {
+        UserCache cache = new UserCache(true, 10, 60_000);
+
+        // DB에서 읽은 직후, put 전에 다른 요청이 사용자 정보를 바꾸고 무효화한 상황
+        cache.get("a@test.com", email -> {
+            User stale = loader.apply(email);
+            cache.invalidate(email);
+            return stale;
+        });
+        cache.get("a@test.com", loader);
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bookstore.security;
+
+import com.example.bookstore.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedTokenCacheTest {
+
+    private static final String EMAIL = "a@test.com";
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, 3_600_000);
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = new JwtTokenProvider(
+                email -> User.builder().id(1L).email(email).role(User.Role.ROLE_USER).build(), cache);
+        ReflectionTestUtils.setField(provider, "secretKey", "testSecretKeyForJwtTokenGenerationThatIsAtLeast256BitsLong");
+        ReflectionTestUtils.setField(provider, "accessTokenValidity", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "refreshTokenValidity", 604_800_000L);
+        provider.init();
+    }
+
+    @Test
+    @DisplayName("로그아웃(revokeSubject) 후 캐시돼 있던 기존 액세스 토큰은 거절")
+    void revokeSubject_BlocksCachedToken() {
+        String token = provider.createAccessToken(1L, EMAIL, "ROLE_USER");
+        assertThat(provider.parse(token).isValid()).isTrue();
+        assertThat(cache.size()).isEqualTo(1);
+
+        cache.revokeSubject(EMAIL);
+
+        assertThat(provider.parse(token).isValid()).isFalse();
+        // 다시 검증해도 캐시에 들어가지 않고 계속 거절
+        assertThat(provider.parse(token).isValid()).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("무효화 직후(같은 초) 새로 발급한 토큰은 유효")
+    void revokeSubject_NewTokenStillValid() {
+        String old = provider.createAccessToken(1L, EMAIL, "ROLE_USER");
+        cache.revokeSubject(EMAIL);
+
+        String renewed = provider.createAccessToken(1L, EMAIL, "ROLE_USER");
+
+        assertThat(provider.parse(old).isValid()).isFalse();
+        assertThat(provider.parse(renewed).isValid()).isTrue();
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 토큰과 리프레시 토큰은 영향 없음")
+    void revokeSubject_OnlyAccessTokensOfSubject() {
+        String other = provider.createAccessToken(2L, "b@test.com", "ROLE_USER");
+        String refresh = provider.createRefreshToken(EMAIL);
+
+        cache.revokeSubject(EMAIL);
+
+        assertThat(provider.parse(other).isValid()).isTrue();
+        assertThat(provider.parse(refresh).isValid()).isTrue();
+    }
+}
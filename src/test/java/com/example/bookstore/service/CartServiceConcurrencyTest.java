@@ -0,0 +1,111 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.cart.CartItemRequest;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.entity.CartItem;
+import com.example.bookstore.entity.User;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.CartItemRepository;
+import com.example.bookstore.repository.CartRepository;
+import com.example.bookstore.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 여러 스레드가 각자 커밋해야 하므로 @Transactional 없이 실행하고 직접 정리한다
+@SpringBootTest
+@ActiveProfiles("test")
+class CartServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 20;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    private User user;
+    private Book book;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("concurrent@test.com")
+                .password("password")
+                .name("동시성")
+                .role(User.Role.ROLE_USER)
+                .build());
+        book = bookRepository.save(Book.builder()
+                .title("동시성 도서")
+                .author("저자")
+                .publisher("출판사")
+                .isbn("9789999999999")
+                .price(10000)
+                .publicationDate(LocalDate.of(2023, 1, 1))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartItemRepository.deleteAll(cartItemRepository.findByCartUserIdAndDeletedFalse(user.getId()));
+        cartRepository.findByUserId(user.getId()).ifPresent(cartRepository::delete);
+        bookRepository.delete(book);
+        userRepository.delete(user);
+    }
+
+    @Test
+    @DisplayName("동시에 담아도 수량이 유실되지 않고 장바구니와 항목은 하나씩만 생긴다")
+    void addCartItem_Concurrent() throws Exception {
+        CartItemRequest request = CartItemRequest.builder()
+                .bookId(book.getId())
+                .quantity(1)
+                .build();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ADDS_PER_THREAD; j++) {
+                    cartService.addCartItem(user, request);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        List<CartItem> items = cartItemRepository.findByCartUserIdAndDeletedFalse(user.getId());
+        assertThat(items).hasSize(1);
+        assertThat(items.get(0).getQuantity()).isEqualTo(THREADS * ADDS_PER_THREAD);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.cart.CartItemRequest;
+import com.example.bookstore.entity.Book;
+import com.example.bookstore.entity.User;
+import com.example.bookstore.repository.BookRepository;
+import com.example.bookstore.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 유니크 키가 없던 시절의 중복 행에서 시작해 docs/migrations/cart_unique_keys.sql을 그대로 실행한다.
+// DDL은 바로 커밋되므로 @Transactional 없이 실행하고 직접 정리한다
+@SpringBootTest
+@ActiveProfiles("test")
+class CartUniqueKeyMigrationTest {
+
+    private static final String SCRIPT = "docs/migrations/cart_unique_keys.sql";
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private User user;
+    private Book book1;
+    private Book book2;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .email("migration@test.com")
+                .password("password")
+                .name("마이그레이션")
+                .role(User.Role.ROLE_USER)
+                .build());
+        book1 = saveBook(1);
+        book2 = saveBook(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM cart_items WHERE cart_id IN (SELECT id FROM carts WHERE user_id = ?)", user.getId());
+        jdbcTemplate.update("DELETE FROM carts WHERE user_id = ?", user.getId());
+        bookRepository.deleteAll(List.of(book1, book2));
+        userRepository.delete(user);
+        // 중간에 실패해도 다른 테스트가 키 없이 돌지 않도록
+        if (constraints("CARTS", "UNIQUE").isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE carts ADD CONSTRAINT uk_carts_user UNIQUE (user_id)");
+        }
+        if (constraints("CART_ITEMS", "UNIQUE").isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE cart_items ADD CONSTRAINT uk_cart_items_cart_book UNIQUE (cart_id, book_id)");
+        }
+        if (constraints("CARTS", "FOREIGN KEY").isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE carts ADD CONSTRAINT fk_carts_user FOREIGN KEY (user_id) REFERENCES users (id)");
+        }
+    }
+
+    @Test
+    @DisplayName("중복 장바구니와 항목을 합치고 유니크 키를 만들어 이후 담기가 한 행으로 모인다")
+    void migrate_MergesDuplicatesAndAddsKeys() {
+        // H2는 carts.user_id 외래 키가 유니크 키의 인덱스를 같이 쓰므로 외래 키도 잠시 내린다 (tearDown에서 복구)
+        dropConstraints("CARTS", "FOREIGN KEY");
+        dropConstraints("CARTS", "UNIQUE");
+        dropConstraints("CART_ITEMS", "UNIQUE");
+
+        Long first = insertCart();
+        Long second = insertCart();
+        // 삭제 후 다시 담기로 생긴 삭제된 행 + 살아 있는 행, 그리고 두 번째 장바구니의 같은 도서
+        insertItem(first, book1, 5, true);
+        Long liveItem = insertItem(first, book1, 2, false);
+        insertItem(second, book1, 1, false);
+        Long deletedItem = insertItem(first, book2, 4, true);
+        insertItem(second, book2, 3, true);
+
+        jdbcTemplate.execute((Connection connection) -> {
+            ScriptUtils.executeSqlScript(connection, new FileSystemResource(SCRIPT));
+            return null;
+        });
+
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM carts WHERE user_id = ?", Long.class, user.getId()))
+                .containsExactly(first);
+        List<Map<String, Object>> items = jdbcTemplate.queryForList(
+                "SELECT id, book_id, quantity, deleted FROM cart_items WHERE cart_id = ? ORDER BY book_id", first);
+        assertThat(items).hasSize(2);
+        assertThat(items.get(0)).containsEntry("ID", liveItem).containsEntry("QUANTITY", 3).containsEntry("DELETED", false);
+        assertThat(items.get(1)).containsEntry("ID", deletedItem).containsEntry("DELETED", true);
+
+        // 키가 있으므로 upsert가 기존 행에 더하고, 되살리고, 새 장바구니를 만들지 않는다
+        cartService.addCartItem(user, CartItemRequest.builder().bookId(book1.getId()).quantity(1).build());
+        cartService.addCartItem(user, CartItemRequest.builder().bookId(book2.getId()).quantity(2).build());
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT quantity FROM cart_items WHERE cart_id = ? AND deleted = false ORDER BY book_id", Integer.class, first))
+                .containsExactly(4, 2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_items WHERE cart_id = ?", Long.class, first))
+                .isEqualTo(2);
+        assertThatThrownBy(this::insertCart).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private Long insertCart() {
+        jdbcTemplate.update("INSERT INTO carts (user_id, created_at) VALUES (?, CURRENT_TIMESTAMP)", user.getId());
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM carts WHERE user_id = ?", Long.class, user.getId());
+    }
+
+    private Long insertItem(Long cartId, Book book, int quantity, boolean deleted) {
+        jdbcTemplate.update("INSERT INTO cart_items (cart_id, book_id, quantity, deleted, created_at) " +
+                "VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)", cartId, book.getId(), quantity, deleted);
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM cart_items", Long.class);
+    }
+
+    private List<String> constraints(String table, String type) {
+        return jdbcTemplate.queryForList("SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS " +
+                "WHERE TABLE_NAME = ? AND CONSTRAINT_TYPE = ?", String.class, table, type);
+    }
+
+    private void dropConstraints(String table, String type) {
+        constraints(table, type).forEach(name ->
+                jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + name));
+    }
+
+    private Book saveBook(int i) {
+        return bookRepository.save(Book.builder()
+                .title("마이그레이션 도서 " + i)
+                .author("저자")
+                .publisher("출판사")
+                .isbn("97866" + String.format("%08d", i))
+                .price(10000)
+                .publicationDate(LocalDate.of(2023, 1, 1))
+                .build());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.bookstore.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 테스트 메서드 하나가 쓸 수 있는 SQL 예산.
+ * 측정 구간은 {@link SqlStatementCounter#reset()} 호출(없으면 테스트 시작)부터 테스트 끝까지이며,
+ * 초과하면 {@link SqlBudgetExtension}이 테스트를 실패시킨다. 음수는 제한 없음.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudget {
+
+    // JDBC PreparedStatement 수 (SELECT/INSERT/UPDATE/DELETE 모두)
+    long statements();
+
+    // JPQL/네이티브 쿼리가 돌려준 행 수
+    long rows() default -1;
+
+    // 영속성 컨텍스트에 로딩된 엔티티 수
+    long entities() default -1;
+}
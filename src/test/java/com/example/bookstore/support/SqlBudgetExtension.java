@@ -0,0 +1,54 @@
+package com.example.bookstore.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+/**
+ * {@link SqlBudget}이 붙은 테스트의 SQL 사용량을 검사한다.
+ * 테스트 메서드는 {@link SqlStatementCounter} 파라미터를 받아 데이터 준비 뒤 reset()으로 측정 구간을 시작한다.
+ */
+public class SqlBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SqlBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        counter(context).reset();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        // 이미 실패한 테스트는 원래 예외를 그대로 보여준다
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        context.getTestMethod()
+                .map(method -> method.getAnnotation(SqlBudget.class))
+                .ifPresent(budget -> counter(context).assertWithin(budget));
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SqlStatementCounter.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return counter(extensionContext);
+    }
+
+    private SqlStatementCounter counter(ExtensionContext context) {
+        return context.getStore(NAMESPACE).getOrComputeIfAbsent(SqlStatementCounter.class, key -> {
+            EntityManagerFactory emf = SpringExtension.getApplicationContext(context)
+                    .getBean(EntityManagerFactory.class);
+            return new SqlStatementCounter(SharedEntityManagerCreator.createSharedEntityManager(emf));
+        }, SqlStatementCounter.class);
+    }
+}
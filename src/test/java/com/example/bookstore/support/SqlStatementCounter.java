@@ -0,0 +1,74 @@
+package com.example.bookstore.support;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 요청 하나가 실행한 SQL 문 수, 쿼리 결과 행 수, 로딩된 엔티티 수를 Hibernate Statistics로 센다.
+ * 테스트는 @Transactional로 묶여 있으므로 측정 전에 영속성 컨텍스트를 비워야 지연 로딩이 실제 SELECT로 드러난다.
+ * (hibernate.generate_statistics=true 필요)
+ */
+public class SqlStatementCounter {
+
+    private final EntityManager entityManager;
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    // 쓰기를 DB로 내보내고 1차 캐시를 비운 뒤 카운터를 0으로 되돌린다
+    public void reset() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+        statistics.clear();
+    }
+
+    public long statements() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    // 쿼리 결과 행 합계 (id로 직접 로딩한 엔티티는 entities()에만 잡힌다)
+    public long rows() {
+        return Arrays.stream(statistics.getQueries())
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionRowCount())
+                .sum();
+    }
+
+    public long entities() {
+        return statistics.getEntityLoadCount();
+    }
+
+    public void assertWithin(SqlBudget budget) {
+        // 커밋 시점에 나갈 쓰기도 예산에 포함
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+        List<String> exceeded = new ArrayList<>();
+        check(exceeded, "statements", statements(), budget.statements());
+        check(exceeded, "rows", rows(), budget.rows());
+        check(exceeded, "entities", entities(), budget.entities());
+        assertThat(exceeded)
+                .as("SQL budget exceeded (statements=%d, rows=%d, entities=%d)", statements(), rows(), entities())
+                .isEmpty();
+    }
+
+    private static void check(List<String> exceeded, String name, long actual, long limit) {
+        if (limit >= 0 && actual > limit) {
+            exceeded.add(name + " " + actual + " > " + limit);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.bookstore.support;
+
+import com.example.bookstore.security.UserCache;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.TestContext;
+import org.springframework.test.context.TestExecutionListener;
+
+/**
+ * 테스트마다 사용자 캐시를 비운다. 테스트는 repository로 사용자를 직접 만들고 롤백하므로(무효화를 거치지 않음)
+ * 운영 기본값대로 캐시를 켜 두면 이전 테스트에서 롤백된 사용자가 같은 이메일로 남는다.
+ * META-INF/spring.factories로 모든 스프링 테스트에 등록된다.
+ */
+public class UserCacheResetListener implements TestExecutionListener {
+
+    @Override
+    public void beforeTestMethod(TestContext testContext) {
+        ApplicationContext context = testContext.getApplicationContext();
+        context.getBeanProvider(UserCache.class).ifAvailable(UserCache::clear);
+    }
+}